@@ -0,0 +1,99 @@
+package com.tomasinorg.tomasinorg_back;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Prints two JMH JSON result files side by side: score and allocation per
+ * operation for every benchmark and parameter combination, and whether the
+ * score moved by more than the two runs' error margins combined. Runs of the
+ * same benchmark on different machines are not comparable; record the
+ * baseline on the machine the comparison runs on.
+ *
+ * <p>Usage: {@code BenchmarkComparison <baseline.json> <current.json>}
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.err.println("No baseline at " + baselineFile + "; see benchmarks/README.md to record one");
+            System.exit(1);
+        }
+        Map<String, JsonNode> baseline = read(baselineFile);
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        System.out.printf("%-90s %22s %22s %9s %10s  %s%n",
+                "Benchmark", "Baseline", "Current", "Change", "Alloc B/op", "");
+        current.forEach((key, run) -> {
+            JsonNode before = baseline.get(key);
+            JsonNode score = run.path("primaryMetric");
+            String unit = score.path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %22s %22s %9s %10s  new%n", key, "-", format(score, unit), "",
+                        allocation(run));
+                return;
+            }
+            JsonNode baseScore = before.path("primaryMetric");
+            double was = baseScore.path("score").asDouble();
+            double now = score.path("score").asDouble();
+            double change = was == 0 ? 0 : (now - was) / was * 100;
+            boolean significant = Math.abs(now - was) > error(baseScore) + error(score);
+            System.out.printf("%-90s %22s %22s %+8.1f%% %10s  %s%n", key, format(baseScore, unit),
+                    format(score, unit), change, allocation(before) + " -> " + allocation(run),
+                    significant ? verdict(run.path("mode").asText(), now > was) : "");
+        });
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-90s %22s%n", key, "not in current run"));
+    }
+
+    /** Results keyed by benchmark name, mode and parameters. */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            String name = run.path("benchmark").asText().replaceFirst("^com\\.tomasinorg\\.tomasinorg_back\\.", "");
+            results.put(name + " " + run.path("mode").asText() + (params.isEmpty() ? "" : " " + params), run);
+        }
+        return results;
+    }
+
+    private static String format(JsonNode metric, String unit) {
+        return String.format("%.3f ± %.3f %s", metric.path("score").asDouble(), error(metric), unit);
+    }
+
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String allocation(JsonNode run) {
+        // JMH before 1.37 prefixed profiler metrics with a middle dot
+        JsonNode metrics = run.path("secondaryMetrics");
+        JsonNode allocation = metrics.has(ALLOCATION) ? metrics.get(ALLOCATION) : metrics.path("·" + ALLOCATION);
+        return allocation.isMissingNode() ? "-" : String.format("%.0f", allocation.path("score").asDouble());
+    }
+
+    private static String verdict(String mode, boolean higher) {
+        // Throughput: more is better; time per operation and sample modes: less is better
+        boolean better = "thrpt".equals(mode) == higher;
+        return better ? "faster" : "SLOWER";
+    }
+}
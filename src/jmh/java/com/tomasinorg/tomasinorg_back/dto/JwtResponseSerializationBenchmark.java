@@ -0,0 +1,58 @@
+package com.tomasinorg.tomasinorg_back.dto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+
+/**
+ * Writing the {@code /auth/refresh} response body with the same Jackson
+ * settings Spring MVC uses, with real-sized access and refresh tokens in it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtResponseSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private JwtResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", "benchmark-secret-benchmark-secret-benchmark-secret");
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationMs", 86_400_000L);
+        provider.init();
+
+        UserDto user = new UserDto("user@example.com", "Example User",
+                "https://lh3.googleusercontent.com/a/ACg8ocJexample-profile-picture=s96-c", "USER");
+        response = JwtResponse.builder()
+                .accessToken(provider.generateToken(user))
+                .refreshToken(provider.generateRefreshToken(user.getEmail()))
+                .expiresIn(provider.getJwtExpirationMs())
+                .user(user)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,87 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tomcat.util.http.MimeHeaders;
+import org.apache.tomcat.util.http.Rfc6265CookieProcessor;
+import org.apache.tomcat.util.http.ServerCookie;
+import org.apache.tomcat.util.http.ServerCookies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Finding the access token in a browser-sized {@code Cookie} header: Tomcat's
+ * full parse into a {@code Cookie[]} (what {@code getCookies()} does) followed
+ * by a scan by name, against {@link TokenCookies}' direct header scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CookieExtractionBenchmark {
+
+    private static final String ACCESS_TOKEN = "eyJhbGciOiJIUzI1NiJ9"
+            + ".eyJzdWIiOiJ1c2VyQGV4YW1wbGUuY29tIiwicm9sZSI6IlVTRVIiLCJpYXQiOjE3MDAwMDAwMDAsImV4cCI6MTcwMDAwMzYwMH0"
+            + ".c2lnbmF0dXJlLXNpZ25hdHVyZS1zaWduYXR1cmU";
+
+    /** Cookies sent alongside the tokens: analytics, consent, A/B flags and so on. */
+    @Param({"4", "20", "40"})
+    public int otherCookies;
+
+    /** Where the access token sits in the header. */
+    @Param({"first", "last"})
+    public String position;
+
+    private String header;
+    private final Rfc6265CookieProcessor processor = new Rfc6265CookieProcessor();
+
+    @Setup
+    public void setUp() {
+        StringBuilder others = new StringBuilder();
+        for (int i = 0; i < otherCookies; i++) {
+            others.append("_ga_").append(i).append("=GS1.1.1700000000.").append(i).append(".1.1700000123.0.0.0; ");
+        }
+        String tokens = "accessToken=" + ACCESS_TOKEN + "; refreshToken=" + ACCESS_TOKEN;
+        header = "first".equals(position)
+                ? tokens + "; " + others.substring(0, Math.max(0, others.length() - 2))
+                : others + tokens;
+    }
+
+    @Benchmark
+    public String containerCookieArray() {
+        MimeHeaders headers = new MimeHeaders();
+        headers.addValue("Cookie").setString(header);
+        ServerCookies serverCookies = new ServerCookies(otherCookies + 2);
+        processor.parseCookieHeader(headers, serverCookies);
+
+        Cookie[] cookies = new Cookie[serverCookies.getCookieCount()];
+        for (int i = 0; i < cookies.length; i++) {
+            ServerCookie serverCookie = serverCookies.getCookie(i);
+            cookies[i] = new Cookie(serverCookie.getName().toString(), serverCookie.getValue().toString());
+        }
+        for (Cookie cookie : cookies) {
+            if (TokenCookies.ACCESS_TOKEN.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String headerScan() {
+        return TokenCookies.findInHeader(header, TokenCookies.ACCESS_TOKEN);
+    }
+}
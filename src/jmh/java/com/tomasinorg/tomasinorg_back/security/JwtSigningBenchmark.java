@@ -0,0 +1,67 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+
+/**
+ * Sign and verify throughput of an access token per supported algorithm, to
+ * weigh HS256's speed against the asymmetric algorithms' keyless verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({"HS256", "RS256", "ES256"})
+    public String algorithm;
+
+    private static final UserDto PROFILE = new UserDto("user@example.com", "Example User",
+            "https://lh3.googleusercontent.com/a/ACg8ocJexample-profile-picture=s96-c", "USER");
+
+    private JwtTokenProvider provider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", "benchmark-secret-benchmark-secret-benchmark-secret");
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "algorithm", algorithm);
+        provider.init();
+        token = provider.generateToken("user@example.com", "USER");
+    }
+
+    @Benchmark
+    public String sign() {
+        return provider.generateToken("user@example.com", "USER");
+    }
+
+    /** What login and refresh issue: the access token with the profile claims. */
+    @Benchmark
+    public String signWithProfile() {
+        return provider.generateToken(PROFILE);
+    }
+
+    @Benchmark
+    public TokenVerification verify() {
+        return provider.verify(token);
+    }
+}
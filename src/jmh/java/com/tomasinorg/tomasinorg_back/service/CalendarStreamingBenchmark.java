@@ -0,0 +1,111 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tomasinorg.tomasinorg_back.support.GoogleApiStub;
+
+/**
+ * Serving a multi-megabyte calendar from a local stub: the buffered path,
+ * which reads Google's response into an object tree and serialises it again,
+ * against {@link GoogleCalendarStreamer}'s token-by-token copy. Compare
+ * {@code gc.alloc.rate.norm} (bytes allocated per request) from the gc
+ * profiler: the buffered path allocates a multiple of the body, the streamed
+ * one a copy of each page's raw bytes and no objects per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class CalendarStreamingBenchmark {
+
+	/** 5000 events is about 4 MB of JSON, 20000 about 16 MB. */
+	@Param({"5000", "20000"})
+	public int events;
+
+	private GoogleApiStub stub;
+	private RestTemplate restTemplate;
+	private ObjectMapper objectMapper;
+	private GoogleCalendarStreamer streamer;
+	private HttpEntity<Void> request;
+
+	@Setup
+	public void setUp() throws Exception {
+		stub = GoogleApiStub.start();
+		stub.setEventsBody(calendar(events));
+
+		restTemplate = new RestTemplate();
+		objectMapper = new ObjectMapper();
+		GoogleCallGuard callGuard = new GoogleCallGuard();
+		callGuard.init();
+		streamer = new GoogleCalendarStreamer(null, null, restTemplate, callGuard, objectMapper);
+		ReflectionTestUtils.setField(streamer, "calendarEventsUrl", stub.url(GoogleApiStub.EVENTS_PATH));
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth("google-access");
+		request = new HttpEntity<>(headers);
+	}
+
+	@TearDown
+	public void tearDown() {
+		stub.close();
+	}
+
+	@Benchmark
+	public void bufferedObjectTree() throws Exception {
+		Object body = restTemplate.exchange(stub.url(GoogleApiStub.EVENTS_PATH), HttpMethod.GET, request, Object.class)
+				.getBody();
+		objectMapper.writeValue(OutputStream.nullOutputStream(), body);
+	}
+
+	@Benchmark
+	public void streamedPassThrough() throws Exception {
+		streamer.copyPages("google-access", null, null, OutputStream.nullOutputStream());
+	}
+
+	private static String calendar(int events) {
+		StringBuilder json = new StringBuilder(events * 800).append("{\"kind\":\"calendar#events\",\"items\":[");
+		for (int i = 0; i < events; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"kind\":\"calendar#event\",\"etag\":\"\\\"3391").append(i).append("\\\"\",")
+					.append("\"id\":\"evt").append(i).append("\",\"status\":\"confirmed\",")
+					.append("\"htmlLink\":\"https://www.google.com/calendar/event?eid=ZXZ0").append(i).append("\",")
+					.append("\"created\":\"2024-01-01T09:00:00.000Z\",\"updated\":\"2024-01-02T09:00:00.000Z\",")
+					.append("\"summary\":\"Meeting ").append(i).append("\",")
+					.append("\"description\":\"Weekly sync on project status, blockers and next steps for the team.\",")
+					.append("\"location\":\"Room 4B\",")
+					.append("\"creator\":{\"email\":\"organizer@example.com\",\"self\":true},")
+					.append("\"organizer\":{\"email\":\"organizer@example.com\",\"self\":true},")
+					.append("\"start\":{\"dateTime\":\"2024-03-01T10:00:00+08:00\",\"timeZone\":\"Asia/Manila\"},")
+					.append("\"end\":{\"dateTime\":\"2024-03-01T11:00:00+08:00\",\"timeZone\":\"Asia/Manila\"},")
+					.append("\"iCalUID\":\"evt").append(i).append("@google.com\",\"sequence\":0,")
+					.append("\"attendees\":[{\"email\":\"a@example.com\",\"responseStatus\":\"accepted\"},")
+					.append("{\"email\":\"b@example.com\",\"responseStatus\":\"needsAction\"}],")
+					.append("\"reminders\":{\"useDefault\":true},\"eventType\":\"default\"}");
+		}
+		return json.append("]}").toString();
+	}
+}
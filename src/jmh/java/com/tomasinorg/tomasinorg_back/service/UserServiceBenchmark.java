@@ -0,0 +1,63 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.security.ProfileClaims;
+
+/**
+ * Turning a {@code User} row into the profile that login and refresh put in the
+ * access token: {@link UserService#convertToDto} on its own, and together with
+ * the digest {@code /api/user/me} sends as the profile's ETag.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private UserService userService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // convertToDto touches neither the repository nor the cache
+        userService = new UserService(null, null);
+        user = User.builder()
+                .id(42L)
+                .email("user@example.com")
+                .name("Example User")
+                .picture("https://lh3.googleusercontent.com/a/ACg8ocJexample-profile-picture=s96-c")
+                .googleId("109876543210987654321")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public UserDto convertToDto() {
+        return userService.convertToDto(user);
+    }
+
+    @Benchmark
+    public String convertToDtoWithDigest() {
+        return ProfileClaims.digest(userService.convertToDto(user));
+    }
+}
@@ -0,0 +1,25 @@
+package com.tomasinorg.tomasinorg_back.config;
+
+import com.tomasinorg.tomasinorg_back.service.InMemoryUserProfileCache;
+import com.tomasinorg.tomasinorg_back.service.UserProfileCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * The in-process profile cache. Set {@code user.profile-cache.type} to
+     * anything else to define a different {@link UserProfileCache} bean instead.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "user.profile-cache.type", havingValue = "in-memory", matchIfMissing = true)
+    public UserProfileCache userProfileCache(@Value("${user.profile-cache.ttl:5m}") Duration ttl,
+                                             @Value("${user.profile-cache.max-size:10000}") long maxSize) {
+        return new InMemoryUserProfileCache(ttl, maxSize);
+    }
+}
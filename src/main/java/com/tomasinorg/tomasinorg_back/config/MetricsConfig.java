@@ -0,0 +1,14 @@
+package com.tomasinorg.tomasinorg_back.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Loads the metric and Actuator defaults in {@code metrics.properties}. Timers
+ * and gauges themselves are registered by the beans that own the numbers, as
+ * {@code MeterBinder}s that Spring Boot binds to the Prometheus registry.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+}
@@ -0,0 +1,41 @@
+package com.tomasinorg.tomasinorg_back.config;
+
+import com.tomasinorg.tomasinorg_back.service.AdminStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Feeds {@link AdminStats}: counts requests and notes who made them.
+ * Registered after the security filter chain, so the caller is already known;
+ * requests security rejects are not counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestStatsFilter extends OncePerRequestFilter {
+
+    private final AdminStats adminStats;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        adminStats.recordRequest();
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            adminStats.recordActiveUser(authentication.getName());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
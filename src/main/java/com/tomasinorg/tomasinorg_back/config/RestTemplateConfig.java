@@ -1,14 +1,97 @@
 package com.tomasinorg.tomasinorg_back.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * Outbound HTTP for Google calls: a pooled Apache HttpClient 5 that keeps
+ * connections alive between calls, caps connections per upstream host, bounds
+ * every wait with a timeout and transparently accepts gzip responses.
+ *
+ * <p>The classic (blocking) HttpClient 5 API speaks HTTP/1.1 only; with
+ * pooled keep-alive connections that costs little for our request rates.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.max-connections:200}")
+    private int maxConnections = 200;
+
+    @Value("${http.client.max-connections-per-host:50}")
+    private int maxConnectionsPerHost = 50;
+
+    @Value("${http.client.connect-timeout:2s}")
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    @Value("${http.client.read-timeout:10s}")
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /** How long a request may wait for a free pooled connection. */
+    @Value("${http.client.pool-wait-timeout:2s}")
+    private Duration poolWaitTimeout = Duration.ofSeconds(2);
+
+    @Value("${http.client.idle-timeout:30s}")
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolWaitTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public UpstreamHttpMetrics upstreamHttpMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new UpstreamHttpMetrics(httpConnectionManager);
+    }
+
+    /**
+     * Picked up by Boot's {@code RestTemplateBuilder} observation customizer.
+     */
+    @Bean
+    public UpstreamRequestObservationConvention upstreamRequestObservationConvention() {
+        return new UpstreamRequestObservationConvention();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient,
+                                     UpstreamHttpMetrics upstreamHttpMetrics) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalInterceptors(upstreamHttpMetrics)
+                .build();
     }
 }
@@ -3,13 +3,20 @@ package com.tomasinorg.tomasinorg_back.config;
 import com.tomasinorg.tomasinorg_back.security.CustomOAuth2UserService;
 import com.tomasinorg.tomasinorg_back.security.JwtAuthenticationFilter;
 import com.tomasinorg.tomasinorg_back.security.OAuth2AuthenticationSuccessHandler;
+import com.tomasinorg.tomasinorg_back.security.PublicPaths;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -27,6 +34,37 @@ public class SecurityConfig {
     private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
     private final CustomOAuth2UserService customOAuth2UserService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PublicPaths publicPaths;
+
+    /**
+     * The Prometheus scrape, authenticated with HTTP Basic against a static
+     * credential rather than a user's expiring session. The password is in
+     * Spring Security's encoded form, e.g. {@code {bcrypt}...} or
+     * {@code {noop}...}; without one, scraping is refused.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain prometheusFilterChain(HttpSecurity http,
+            @Value("${metrics.scrape.username:prometheus}") String username,
+            @Value("${metrics.scrape.password:}") String password) throws Exception {
+        http.securityMatcher("/actuator/prometheus")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .httpBasic(Customizer.withDefaults())
+            .authorizeHttpRequests(authz -> {
+                if (password.isBlank()) {
+                    authz.anyRequest().denyAll();
+                } else {
+                    authz.anyRequest().hasRole("METRICS");
+                }
+            });
+        if (!password.isBlank()) {
+            http.userDetailsService(new InMemoryUserDetailsManager(
+                    User.withUsername(username).password(password).roles("METRICS").build()));
+        }
+
+        return http.build();
+    }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -34,12 +72,14 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/", "/error", "/favicon.ico").permitAll()
-                .requestMatchers("/static/**", "/public/**", "/webjars/**").permitAll()
-                .requestMatchers("/oauth2/**", "/login/**").permitAll()
-                .requestMatchers("/api/public/**").permitAll()
-                .requestMatchers("/auth/refresh", "/auth/logout").permitAll()
+                // A StreamingResponseBody finishes on an ASYNC dispatch, which the JWT
+                // filter (once per request) doesn't see and no repository carries the
+                // authentication over to; the REQUEST dispatch was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers(publicPaths.patterns()).permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // Health alone is public; the Prometheus scrape has its own chain above
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/user/**").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/api/google/**").hasAnyRole("USER", "ADMIN")
                 .anyRequest().authenticated()
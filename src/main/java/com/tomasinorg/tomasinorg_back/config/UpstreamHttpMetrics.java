@@ -0,0 +1,135 @@
+package com.tomasinorg.tomasinorg_back.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Per upstream host request counts, status classes and latency (time to
+ * response headers) for calls made through the shared {@code RestTemplate},
+ * plus the connection pool's utilisation per route.
+ *
+ * <p>Once bound to a {@link MeterRegistry}, the pool is exported as
+ * {@code http.upstream.pool.*}. Per-call timers come from Boot's
+ * {@code http.client.requests} observation, tagged by
+ * {@link UpstreamRequestObservationConvention}.
+ */
+public class UpstreamHttpMetrics implements ClientHttpRequestInterceptor, MeterBinder {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Map<String, HostStats> hosts = new ConcurrentHashMap<>();
+
+    public UpstreamHttpMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pool(registry, "leased", PoolStats::getLeased);
+        pool(registry, "available", PoolStats::getAvailable);
+        pool(registry, "pending", PoolStats::getPending);
+        pool(registry, "max", PoolStats::getMax);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        HostStats stats = hosts.computeIfAbsent(request.getURI().getHost(), host -> new HostStats());
+        long start = System.nanoTime();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            stats.record(System.nanoTime() - start, response.getStatusCode().value());
+            return response;
+        } catch (IOException ex) {
+            stats.record(System.nanoTime() - start, 0);
+            throw ex;
+        }
+    }
+
+    private void pool(MeterRegistry registry, String name, ToIntFunction<PoolStats> stat) {
+        Gauge.builder("http.upstream.pool." + name, connectionManager,
+                        manager -> stat.applyAsInt(manager.getTotalStats()))
+                .description("Outbound HTTP connection pool, all routes")
+                .register(registry);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> byHost = new TreeMap<>();
+        hosts.forEach((host, stats) -> byHost.put(host, stats.snapshot()));
+
+        Map<String, Object> pools = new TreeMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            pools.put(route.getTargetHost().toURI(), poolSnapshot(connectionManager.getStats(route)));
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("hosts", byHost);
+        snapshot.put("pool", poolSnapshot(connectionManager.getTotalStats()));
+        snapshot.put("poolByRoute", pools);
+        return snapshot;
+    }
+
+    private static Map<String, Object> poolSnapshot(PoolStats stats) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("leased", stats.getLeased());
+        snapshot.put("available", stats.getAvailable());
+        snapshot.put("pending", stats.getPending());
+        snapshot.put("max", stats.getMax());
+        return snapshot;
+    }
+
+    private static final class HostStats {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder ioErrors = new LongAdder();
+        private final LongAdder status2xx = new LongAdder();
+        private final LongAdder status4xx = new LongAdder();
+        private final LongAdder status5xx = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos, int status) {
+            requests.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (status == 0) {
+                ioErrors.increment();
+            } else if (status >= 500) {
+                status5xx.increment();
+            } else if (status >= 400) {
+                status4xx.increment();
+            } else {
+                status2xx.increment();
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            long count = requests.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("requests", count);
+            snapshot.put("ioErrors", ioErrors.sum());
+            snapshot.put("2xx", status2xx.sum());
+            snapshot.put("4xx", status4xx.sum());
+            snapshot.put("5xx", status5xx.sum());
+            snapshot.put("meanMs", count > 0 ? totalNanos.sum() / count / 1e6 : 0);
+            snapshot.put("maxMs", maxNanos.get() / 1e6);
+            return snapshot;
+        }
+    }
+}
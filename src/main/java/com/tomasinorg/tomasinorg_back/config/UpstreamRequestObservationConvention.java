@@ -0,0 +1,37 @@
+package com.tomasinorg.tomasinorg_back.config;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Boot's {@code http.client.requests} observation for the shared
+ * {@code RestTemplate}, with the request path as the {@code uri} tag. Google
+ * calls are made with full URLs rather than URI templates, so the default
+ * convention would tag them all {@code none}.
+ */
+public class UpstreamRequestObservationConvention extends DefaultClientRequestObservationConvention {
+
+    // Google paths are fixed per API, but cap the tag values in case an id ends up in one
+    private static final int MAX_PATHS = 100;
+
+    private final Set<String> paths = ConcurrentHashMap.newKeySet();
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        if (context.getUriTemplate() != null || context.getCarrier() == null) {
+            return super.uri(context);
+        }
+        String path = context.getCarrier().getURI().getPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        if (!paths.contains(path) && (paths.size() >= MAX_PATHS || !paths.add(path))) {
+            path = "other";
+        }
+        return KeyValue.of("uri", path);
+    }
+}
@@ -1,5 +1,11 @@
 package com.tomasinorg.tomasinorg_back.controller;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tomasinorg.tomasinorg_back.config.UpstreamHttpMetrics;
+import com.tomasinorg.tomasinorg_back.security.TokenFailureMetrics;
+import com.tomasinorg.tomasinorg_back.security.VerifiedTokenCache;
+import com.tomasinorg.tomasinorg_back.service.AdminStats;
+import com.tomasinorg.tomasinorg_back.service.GoogleCallGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,6 +19,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AdminController {
 
+    private final VerifiedTokenCache tokenCache;
+    private final TokenFailureMetrics tokenFailureMetrics;
+    private final UpstreamHttpMetrics upstreamHttpMetrics;
+    private final GoogleCallGuard googleCallGuard;
+    private final AdminStats adminStats;
+
     @GetMapping("/data")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getAdminData() {
@@ -27,11 +39,30 @@ public class AdminController {
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", 100);
-        stats.put("activeUsers", 75);
-        stats.put("totalRequests", 1000);
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(adminStats.snapshot());
+    }
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("tokenCache", tokenCacheMetrics());
+        metrics.put("tokenFailures", tokenFailureMetrics.snapshot());
+        metrics.put("upstreamHttp", upstreamHttpMetrics.snapshot());
+        metrics.put("googleResilience", googleCallGuard.snapshot());
+
+        return ResponseEntity.ok(metrics);
+    }
+
+    private Map<String, Object> tokenCacheMetrics() {
+        CacheStats stats = tokenCache.stats();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("enabled", tokenCache.isEnabled());
+        metrics.put("size", tokenCache.size());
+        metrics.put("hits", stats.hitCount());
+        metrics.put("misses", stats.missCount());
+        metrics.put("evictions", stats.evictionCount());
+        metrics.put("hitRate", stats.hitRate());
+        return metrics;
     }
 }
@@ -2,8 +2,15 @@ package com.tomasinorg.tomasinorg_back.controller;
 
 import com.tomasinorg.tomasinorg_back.dto.JwtResponse;
 import com.tomasinorg.tomasinorg_back.dto.RefreshTokenRequest;
-import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+import com.tomasinorg.tomasinorg_back.security.AuthMetrics;
 import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import com.tomasinorg.tomasinorg_back.security.TokenCookies;
+import com.tomasinorg.tomasinorg_back.security.TokenFailureMetrics;
+import com.tomasinorg.tomasinorg_back.security.TokenVerification;
+import com.tomasinorg.tomasinorg_back.security.VerifiedTokenCache;
+import com.tomasinorg.tomasinorg_back.service.RefreshTokenService;
+import com.tomasinorg.tomasinorg_back.service.TokenRevocationService;
 import com.tomasinorg.tomasinorg_back.service.UserService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,7 +20,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Slf4j
@@ -22,13 +28,20 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class AuthController {
 
+    private final RefreshTokenService refreshTokenService;
     private final UserService userService;
     private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenFailureMetrics failureMetrics;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuthMetrics authMetrics;
 
     @PostMapping("/refresh")
     public ResponseEntity<?> refreshToken(@RequestBody(required = false) RefreshTokenRequest request, 
                                         HttpServletRequest httpRequest,
                                         HttpServletResponse response) {
+        long start = System.nanoTime();
+        AuthMetrics.IssueOutcome outcome = AuthMetrics.IssueOutcome.REJECTED;
         try {
             String refreshToken = null;
             
@@ -37,41 +50,34 @@ public class AuthController {
                 refreshToken = request.getRefreshToken();
             } else {
                 // If not in body, try to get from cookies
-                if (httpRequest.getCookies() != null) {
-                    for (Cookie cookie : httpRequest.getCookies()) {
-                        if ("refreshToken".equals(cookie.getName())) {
-                            refreshToken = cookie.getValue();
-                            break;
-                        }
-                    }
-                }
+                refreshToken = TokenCookies.find(httpRequest, TokenCookies.REFRESH_TOKEN);
             }
             
             if (refreshToken == null || refreshToken.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body("Refresh token not found");
             }
             
-            if (!tokenProvider.validateToken(refreshToken)) {
+            TokenVerification verification = tokenProvider.verify(refreshToken);
+            if (!verification.isValid()) {
+                failureMetrics.record(verification.failure());
                 return ResponseEntity.badRequest().body("Invalid refresh token");
             }
 
-            String email = tokenProvider.getEmailFromToken(refreshToken);
-            Optional<User> userOpt = userService.findByEmail(email);
-            
-            if (userOpt.isEmpty() || !refreshToken.equals(userOpt.get().getRefreshToken())) {
+            String email = verification.principal().subject();
+            String newRefreshToken = tokenProvider.generateRefreshToken(email);
+
+            // Move this session to the new refresh token; a single conditional
+            // UPDATE, so of two tabs refreshing at once exactly one wins
+            Optional<UserDto> user = refreshTokenService.rotate(email, refreshToken, newRefreshToken);
+            if (user.isEmpty()) {
                 return ResponseEntity.badRequest().body("Invalid refresh token");
             }
 
-            User user = userOpt.get();
-            
+            // The rotation read the current profile anyway; refresh the cached copy with it
+            userService.cacheProfile(user.get());
+
             // Generate new access token
-            String newAccessToken = tokenProvider.generateToken(email, user.getRole().toString());
-            String newRefreshToken = tokenProvider.generateRefreshToken(email);
-            
-            // Update user's refresh token
-            user.setRefreshToken(newRefreshToken);
-            user.setUpdatedAt(LocalDateTime.now());
-            userService.save(user);
+            String newAccessToken = tokenProvider.generateToken(user.get());
 
             // Set new cookies
             setTokenCookie(response, "accessToken", newAccessToken, 
@@ -83,18 +89,39 @@ public class AuthController {
                     .accessToken(newAccessToken)
                     .refreshToken(newRefreshToken)
                     .expiresIn(tokenProvider.getJwtExpirationMs())
-                    .user(userService.convertToDto(user))
+                    .user(user.get())
                     .build();
 
+            outcome = AuthMetrics.IssueOutcome.ISSUED;
             return ResponseEntity.ok(jwtResponse);
         } catch (Exception e) {
             log.error("Error refreshing token: {}", e.getMessage());
+            outcome = AuthMetrics.IssueOutcome.ERROR;
             return ResponseEntity.badRequest().body("Token refresh failed");
+        } finally {
+            authMetrics.recordIssue(AuthMetrics.Flow.REFRESH, outcome, System.nanoTime() - start);
         }
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletResponse response) {
+    public ResponseEntity<?> logout(HttpServletRequest request, HttpServletResponse response) {
+        // End this device's session
+        String refreshToken = TokenCookies.find(request, TokenCookies.REFRESH_TOKEN);
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+
+        // Revoke the access token on every node, so a copy of it stops working
+        // now rather than at expiry, and forget any cached verification of it
+        String accessToken = TokenCookies.find(request, TokenCookies.ACCESS_TOKEN);
+        if (accessToken != null) {
+            TokenVerification verification = tokenCache.verify(accessToken);
+            if (verification.isValid() && verification.principal().tokenId() != null) {
+                tokenRevocationService.revoke(verification.principal().tokenId(), verification.principal().expiresAt());
+            }
+            tokenCache.invalidate(accessToken);
+        }
+
         // Clear cookies
         clearTokenCookie(response, "accessToken");
         clearTokenCookie(response, "refreshToken");
@@ -1,11 +1,22 @@
 package com.tomasinorg.tomasinorg_back.controller;
 
+import com.tomasinorg.tomasinorg_back.dto.CalendarEventsPage;
+import com.tomasinorg.tomasinorg_back.exception.GoogleUnavailableException;
+import com.tomasinorg.tomasinorg_back.service.CalendarQuery;
+import com.tomasinorg.tomasinorg_back.service.GoogleCalendarStreamer;
 import com.tomasinorg.tomasinorg_back.service.GoogleService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
 
 @RestController
 @RequestMapping("/api/google")
@@ -13,17 +24,62 @@ import org.springframework.web.bind.annotation.*;
 public class GoogleController {
 
     private final GoogleService googleService;
+    private final GoogleCalendarStreamer calendarStreamer;
 
+    /**
+     * A page of the user's events between {@code timeMin} and {@code timeMax}
+     * (ISO-8601 instants), in start order, with only the requested
+     * {@code fields} (comma-separated, see {@link CalendarQuery#SELECTABLE_FIELDS}).
+     * Pass {@code cursor} from a previous page to get the next one with the
+     * same filters.
+     */
     @GetMapping("/calendar")
-    public ResponseEntity<Object> getCalendarEvents() {
+    public ResponseEntity<Object> getCalendarEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant timeMin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant timeMax,
+            @RequestParam(required = false) Integer maxResults,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String cursor) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
 
         try {
-            Object calendarEvents = googleService.getCalendarEvents(email);
+            CalendarQuery query = cursor != null
+                    ? CalendarQuery.fromCursor(cursor)
+                    : CalendarQuery.of(timeMin, timeMax, maxResults, fields);
+            CalendarEventsPage calendarEvents = googleService.getCalendarEvents(email, query);
             return ResponseEntity.ok(calendarEvents);
+        } catch (GoogleUnavailableException e) {
+            return unavailable(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to fetch calendar events: " + e.getMessage());
+        }
+    }
+
+    /**
+     * All of the user's events, across pages, streamed straight from Google
+     * without buffering. {@code fields} is a Google field mask applied to each
+     * event.
+     */
+    @GetMapping("/calendar/stream")
+    public ResponseEntity<?> streamCalendarEvents(@RequestParam(required = false) String fields,
+                                                  @RequestParam(required = false) String pageToken) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+
+        try {
+            StreamingResponseBody body = calendarStreamer.streamCalendarEvents(email, fields, pageToken);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (GoogleUnavailableException e) {
+            return unavailable(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to fetch calendar events: " + e.getMessage());
         }
     }
+
+    private static ResponseEntity<Object> unavailable(GoogleUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(e.getMessage());
+    }
 }
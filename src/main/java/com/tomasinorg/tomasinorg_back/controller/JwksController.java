@@ -0,0 +1,60 @@
+package com.tomasinorg.tomasinorg_back.controller;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.tomasinorg.tomasinorg_back.security.JwtSigningKey;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the public halves of the JWT key ring so other services can verify
+ * our tokens without holding any signing secret. Empty when signing with HS256.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtTokenProvider tokenProvider;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        List<JWK> keys = new ArrayList<>();
+        for (JwtSigningKey key : tokenProvider.getKeyRing().keys()) {
+            PublicKey publicKey = key.publicKey();
+            if (publicKey instanceof RSAPublicKey rsa) {
+                keys.add(new RSAKey.Builder(rsa)
+                        .keyID(key.kid())
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.parse(key.algorithm().getValue()))
+                        .build());
+            } else if (publicKey instanceof ECPublicKey ec) {
+                keys.add(new ECKey.Builder(Curve.forECParameterSpec(ec.getParams()), ec)
+                        .keyID(key.kid())
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.parse(key.algorithm().getValue()))
+                        .build());
+            }
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(new JWKSet(keys).toJSONObject());
+    }
+}
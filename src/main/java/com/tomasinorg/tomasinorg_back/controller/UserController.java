@@ -1,9 +1,11 @@
 package com.tomasinorg.tomasinorg_back.controller;
 
 import com.tomasinorg.tomasinorg_back.dto.UserDto;
-import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.security.JwtPrincipal;
+import com.tomasinorg.tomasinorg_back.service.UserProfileCache;
 import com.tomasinorg.tomasinorg_back.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,18 +20,26 @@ public class UserController {
 
     private final UserService userService;
 
+    /**
+     * Returns the current user's profile with its ETag. Spring answers a
+     * matching {@code If-None-Match} with 304 Not Modified and no body.
+     */
     @GetMapping("/me")
     public ResponseEntity<UserDto> getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
 
-        Optional<User> userOpt = userService.findByEmail(email);
-        if (userOpt.isEmpty()) {
+        // Access-token callers are answered from their token's claims
+        Optional<UserProfileCache.Entry> profile = authentication.getPrincipal() instanceof JwtPrincipal principal
+                ? userService.getProfile(principal)
+                : userService.getProfile(authentication.getName());
+        if (profile.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        UserDto userDto = userService.convertToDto(userOpt.get());
-        return ResponseEntity.ok(userDto);
+        return ResponseEntity.ok()
+                .eTag(profile.get().etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(profile.get().profile());
     }
 
     @GetMapping("/profile")
@@ -0,0 +1,29 @@
+package com.tomasinorg.tomasinorg_back.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One calendar event, read straight from Google's response. Fields left out
+ * of the request's field mask are null and omitted from the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CalendarEventDto(
+        String id,
+        String status,
+        String summary,
+        String description,
+        String location,
+        String htmlLink,
+        EventTime start,
+        EventTime end) {
+
+    /**
+     * {@code dateTime} for timed events, {@code date} for all-day ones.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record EventTime(String dateTime, String date, String timeZone) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.tomasinorg.tomasinorg_back.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One page of calendar events. {@code nextCursor} fetches the following page
+ * with the same filters and is absent on the last one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CalendarEventsPage(List<CalendarEventDto> items, String nextCursor) {
+}
@@ -1,5 +1,7 @@
 package com.tomasinorg.tomasinorg_back.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Builder;
 
 @Builder
@@ -9,6 +11,10 @@ public class UserDto {
     private String picture;
     private String role;
 
+    // Orders copies of the profile; not part of the API response
+    @JsonIgnore
+    private long profileVersion;
+
     // Default constructor
     public UserDto() {}
 
@@ -20,6 +26,11 @@ public class UserDto {
         this.role = role;
     }
 
+    public UserDto(String email, String name, String picture, String role, long profileVersion) {
+        this(email, name, picture, role);
+        this.profileVersion = profileVersion;
+    }
+
     // Getters and Setters
     public String getEmail() {
         return email;
@@ -52,4 +63,12 @@ public class UserDto {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public long getProfileVersion() {
+        return profileVersion;
+    }
+
+    public void setProfileVersion(long profileVersion) {
+        this.profileVersion = profileVersion;
+    }
 }
@@ -39,6 +39,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    @ExceptionHandler(GoogleUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleGoogleUnavailable(GoogleUnavailableException e, HttpServletRequest request) {
+        log.warn("Google unavailable: {}", e.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            e.getMessage(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            request.getRequestURI(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException e, HttpServletRequest request) {
         log.error("Runtime exception: {}", e.getMessage(), e);
@@ -0,0 +1,12 @@
+package com.tomasinorg.tomasinorg_back.exception;
+
+/**
+ * A Google call was refused locally, without reaching Google, because its
+ * circuit breaker is open or its bulkhead is full.
+ */
+public class GoogleUnavailableException extends RuntimeException {
+
+    public GoogleUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,6 +2,8 @@ package com.tomasinorg.tomasinorg_back.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -9,6 +11,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -18,7 +21,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "ix_users_token_expires_at", columnList = "token_expires_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -48,10 +53,15 @@ public class User {
     private String accessToken;  // Google access token
     private String googleRefreshToken;  // Google refresh token
     
-    // JWT tokens  
-    private String refreshToken;  // JWT refresh token
-    
     private LocalDateTime tokenExpiresAt;
+
+    // Set while a node's background refresher has claimed this user's token
+    private LocalDateTime tokenRefreshLeaseUntil;
+
+    // Incremented whenever name or picture change; carried in access tokens
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long profileVersion;
     
     @Column(nullable = false)
     private LocalDateTime createdAt;
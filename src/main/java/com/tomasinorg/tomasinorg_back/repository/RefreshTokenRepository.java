@@ -0,0 +1,64 @@
+package com.tomasinorg.tomasinorg_back.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tomasinorg.tomasinorg_back.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Moves the unexpired session for {@code email} holding {@code oldHash} to
+     * {@code newHash} and returns the owner's profile, in a single statement.
+     * Concurrent callers presenting the same old token serialise on the row
+     * lock; only the first matches, the rest see an empty result.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE refresh_tokens rt
+            SET token_hash = :newHash, expires_at = :expiresAt
+            FROM users u
+            WHERE rt.token_hash = :oldHash
+              AND rt.expires_at > :now
+              AND u.id = rt.user_id
+              AND u.email = :email
+            RETURNING u.email AS email, u.name AS name, u.picture AS picture, u.role AS role,
+                      u.profile_version AS "profileVersion"
+            """, nativeQuery = true)
+    Optional<RotatedSession> rotate(@Param("email") String email,
+                                    @Param("oldHash") String oldHash,
+                                    @Param("newHash") String newHash,
+                                    @Param("expiresAt") LocalDateTime expiresAt,
+                                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN "
+            + "(SELECT id FROM refresh_tokens WHERE expires_at < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    interface RotatedSession {
+        String getEmail();
+
+        String getName();
+
+        String getPicture();
+
+        String getRole();
+
+        long getProfileVersion();
+    }
+}
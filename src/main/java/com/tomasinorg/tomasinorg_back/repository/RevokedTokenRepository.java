@@ -0,0 +1,42 @@
+package com.tomasinorg.tomasinorg_back.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tomasinorg.tomasinorg_back.model.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Records the revocation and tells every listening node about it. Both
+     * happen in one statement, and the notification is only delivered if
+     * the insert commits.
+     */
+    @Transactional
+    @Query(value = """
+            WITH revoked AS (
+                INSERT INTO revoked_tokens (token_id, expires_at) VALUES (:tokenId, :expiresAt)
+                ON CONFLICT (token_id) DO NOTHING
+            )
+            SELECT CAST(pg_notify(:channel, :payload) AS text)
+            """, nativeQuery = true)
+    String revokeAndNotify(@Param("tokenId") String tokenId,
+                           @Param("expiresAt") LocalDateTime expiresAt,
+                           @Param("channel") String channel,
+                           @Param("payload") String payload);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
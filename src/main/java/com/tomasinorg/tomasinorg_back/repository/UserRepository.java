@@ -1,9 +1,15 @@
 package com.tomasinorg.tomasinorg_back.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.tomasinorg.tomasinorg_back.model.User;
 
@@ -11,5 +17,79 @@ import com.tomasinorg.tomasinorg_back.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByGoogleId(String googleId);
-    Optional<User> findByRefreshToken(String refreshToken);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.accessToken = :accessToken, u.tokenExpiresAt = :expiresAt, "
+            + "u.tokenRefreshLeaseUntil = null, u.updatedAt = CURRENT_TIMESTAMP where u.id = :id")
+    int updateGoogleAccessToken(@Param("id") Long id,
+                                @Param("accessToken") String accessToken,
+                                @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Creates the user signing in with Google, or refreshes their profile and
+     * Google tokens if they exist, and returns the stored row, in a single
+     * statement. An existing role and Google refresh token are kept; Google
+     * only sends a refresh token on first consent. The profile version goes up
+     * only when the name or picture actually change.
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO users (email, name, picture, google_id, role, access_token, google_refresh_token,
+                               token_expires_at, profile_version, created_at, updated_at)
+            VALUES (:email, :name, :picture, :googleId, :role, :accessToken, :googleRefreshToken,
+                    :tokenExpiresAt, 0, :now, :now)
+            ON CONFLICT (google_id) DO UPDATE SET
+                profile_version = CASE
+                    WHEN users.name IS DISTINCT FROM EXCLUDED.name
+                      OR users.picture IS DISTINCT FROM EXCLUDED.picture
+                    THEN users.profile_version + 1
+                    ELSE users.profile_version END,
+                name = EXCLUDED.name,
+                picture = EXCLUDED.picture,
+                access_token = EXCLUDED.access_token,
+                google_refresh_token = COALESCE(EXCLUDED.google_refresh_token, users.google_refresh_token),
+                token_expires_at = EXCLUDED.token_expires_at,
+                updated_at = EXCLUDED.updated_at
+            RETURNING id, email, name, picture, google_id, role, access_token, google_refresh_token,
+                      token_expires_at, token_refresh_lease_until, profile_version, created_at, updated_at
+            """, nativeQuery = true)
+    User upsertGoogleUser(@Param("email") String email,
+                          @Param("name") String name,
+                          @Param("picture") String picture,
+                          @Param("googleId") String googleId,
+                          @Param("role") String role,
+                          @Param("accessToken") String accessToken,
+                          @Param("googleRefreshToken") String googleRefreshToken,
+                          @Param("tokenExpiresAt") LocalDateTime tokenExpiresAt,
+                          @Param("now") LocalDateTime now);
+
+    /**
+     * Claims up to {@code batchSize} users whose Google token expires before
+     * {@code refreshBefore} and who hold a session issued or rotated after
+     * {@code sessionExpiresAfter} minus the refresh-token lifetime, by leasing
+     * them until {@code leaseUntil}. Rows leased or locked by another node are
+     * skipped, so concurrent refreshers never claim the same user.
+     */
+    @Transactional
+    @Query(value = """
+            UPDATE users SET token_refresh_lease_until = :leaseUntil
+            WHERE id IN (
+                SELECT u.id FROM users u
+                WHERE u.google_refresh_token IS NOT NULL
+                  AND u.token_expires_at < :refreshBefore
+                  AND (u.token_refresh_lease_until IS NULL OR u.token_refresh_lease_until < :now)
+                  AND EXISTS (SELECT 1 FROM refresh_tokens rt
+                              WHERE rt.user_id = u.id AND rt.expires_at > :sessionExpiresAfter)
+                ORDER BY u.token_expires_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id, email, name, picture, google_id, role, access_token, google_refresh_token,
+                      token_expires_at, token_refresh_lease_until, profile_version, created_at, updated_at
+            """, nativeQuery = true)
+    List<User> claimExpiringTokens(@Param("refreshBefore") LocalDateTime refreshBefore,
+                                   @Param("sessionExpiresAfter") LocalDateTime sessionExpiresAfter,
+                                   @Param("leaseUntil") LocalDateTime leaseUntil,
+                                   @Param("now") LocalDateTime now,
+                                   @Param("batchSize") int batchSize);
 }
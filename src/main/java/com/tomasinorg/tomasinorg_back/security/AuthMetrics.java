@@ -0,0 +1,74 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for the authentication hot paths: how long {@link JwtAuthenticationFilter}
+ * spends on a request and what it decided ({@code auth.filter}), and how long
+ * issuing tokens takes on login and refresh ({@code auth.token.issue}).
+ *
+ * <p>Every timer is registered up front, so recording is a map read and an
+ * atomic update with no tag lookup. Percentiles come from histogram buckets
+ * bounded to the expected range of each timer, which keeps the bucket count
+ * (and the scrape size) small and lets them be aggregated across instances.
+ */
+@Component
+public class AuthMetrics {
+
+    public enum FilterOutcome { AUTHENTICATED, NO_TOKEN, REJECTED, REVOKED, ERROR }
+
+    public enum Flow { LOGIN, REFRESH }
+
+    public enum IssueOutcome { ISSUED, REJECTED, ERROR }
+
+    private final Map<FilterOutcome, Timer> filterTimers = new EnumMap<>(FilterOutcome.class);
+    private final Map<Flow, Map<IssueOutcome, Timer>> issueTimers = new EnumMap<>(Flow.class);
+
+    public AuthMetrics(MeterRegistry registry) {
+        for (FilterOutcome outcome : FilterOutcome.values()) {
+            filterTimers.put(outcome, Timer.builder("auth.filter")
+                    .description("Time JwtAuthenticationFilter spends authenticating a request")
+                    .tag("outcome", tagValue(outcome))
+                    .publishPercentileHistogram()
+                    // Cache hits take microseconds, a cold RS256 verification a few milliseconds
+                    .minimumExpectedValue(Duration.ofNanos(500))
+                    .maximumExpectedValue(Duration.ofMillis(50))
+                    .register(registry));
+        }
+        for (Flow flow : Flow.values()) {
+            Map<IssueOutcome, Timer> byOutcome = new EnumMap<>(IssueOutcome.class);
+            for (IssueOutcome outcome : IssueOutcome.values()) {
+                byOutcome.put(outcome, Timer.builder("auth.token.issue")
+                        .description("Time to issue access and refresh tokens, including the session write")
+                        .tag("flow", tagValue(flow))
+                        .tag("outcome", tagValue(outcome))
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(5))
+                        .register(registry));
+            }
+            issueTimers.put(flow, byOutcome);
+        }
+    }
+
+    public void recordFilter(FilterOutcome outcome, long nanos) {
+        filterTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordIssue(Flow flow, IssueOutcome outcome, long nanos) {
+        issueTimers.get(flow).get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,6 +3,7 @@ package com.tomasinorg.tomasinorg_back.security;
 import com.tomasinorg.tomasinorg_back.model.Role;
 import com.tomasinorg.tomasinorg_back.model.User;
 import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +22,7 @@ import java.util.Map;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserService userService;
 
     @Value("${app.admin-email}")
     private String adminEmail;
@@ -30,16 +32,14 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         OAuth2User oauth2User = super.loadUser(userRequest);
         
         try {
-            processOAuth2User(userRequest, oauth2User);
+            return new GoogleOAuth2User(oauth2User, processOAuth2User(userRequest, oauth2User));
         } catch (Exception ex) {
             log.error("Error processing OAuth2 user", ex);
             throw new OAuth2AuthenticationException("OAuth2 processing error");
         }
-        
-        return oauth2User;
     }
 
-    private void processOAuth2User(OAuth2UserRequest userRequest, OAuth2User oauth2User) {
+    User processOAuth2User(OAuth2UserRequest userRequest, OAuth2User oauth2User) {
         Map<String, Object> attributes = oauth2User.getAttributes();
         
         String email = (String) attributes.get("email");
@@ -53,41 +53,14 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             ? userRequest.getAdditionalParameters().get("refresh_token").toString() 
             : null;
 
-        User user = userRepository.findByGoogleId(googleId)
-                .map(existingUser -> updateExistingUser(existingUser, name, picture, accessToken, refreshToken))
-                .orElseGet(() -> createNewUser(email, name, picture, googleId, accessToken, refreshToken));
-
-        userRepository.save(user);
-    }
-
-    private User updateExistingUser(User existingUser, String name, String picture, 
-                                  String accessToken, String refreshToken) {
-        existingUser.setName(name);
-        existingUser.setPicture(picture);
-        existingUser.setAccessToken(accessToken);  // Google access token
-        if (refreshToken != null) {
-            existingUser.setGoogleRefreshToken(refreshToken);  // Google refresh token
-        }
-        existingUser.setTokenExpiresAt(LocalDateTime.now().plusSeconds(3600));
-        existingUser.setUpdatedAt(LocalDateTime.now());
-        return existingUser;
-    }
-
-    private User createNewUser(String email, String name, String picture, String googleId,
-                              String accessToken, String refreshToken) {
+        // Insert or update in one statement; the role only applies to new users
         Role role = adminEmail.equals(email) ? Role.ADMIN : Role.USER;
-        
-        return User.builder()
-                .email(email)
-                .name(name)
-                .picture(picture)
-                .googleId(googleId)
-                .role(role)
-                .accessToken(accessToken)  // Google access token
-                .googleRefreshToken(refreshToken)  // Google refresh token
-                .tokenExpiresAt(LocalDateTime.now().plusSeconds(3600))
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
+        User user = userRepository.upsertGoogleUser(email, name, picture, googleId, role.name(),
+                accessToken, refreshToken, LocalDateTime.now().plusSeconds(3600), LocalDateTime.now());
+
+        // Name and picture may have changed on the Google side; the cached copy
+        // is also what /me compares profile claims in older tokens against
+        userService.cacheProfile(userService.convertToDto(user));
+        return user;
     }
 }
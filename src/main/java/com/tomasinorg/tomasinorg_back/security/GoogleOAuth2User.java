@@ -0,0 +1,43 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import com.tomasinorg.tomasinorg_back.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The Google user returned by {@link CustomOAuth2UserService}, carrying the
+ * {@link User} row it was just saved as so the success handler doesn't have to
+ * load it again.
+ */
+public class GoogleOAuth2User implements OAuth2User {
+
+    private final OAuth2User delegate;
+    private final User user;
+
+    public GoogleOAuth2User(OAuth2User delegate, User user) {
+        this.delegate = delegate;
+        this.user = user;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return delegate.getAttributes();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return delegate.getAuthorities();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+}
@@ -2,12 +2,13 @@ package com.tomasinorg.tomasinorg_back.security;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,49 +16,87 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtTokenProvider tokenProvider;
+    private VerifiedTokenCache tokenCache;
+
+    @Autowired
+    private PublicPaths publicPaths;
+
+    @Autowired
+    private TokenFailureMetrics failureMetrics;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Value("${security.jwt.skip-public-paths:true}")
+    private boolean skipPublicPaths;
+
+    // Both are immutable and shared across requests rather than rebuilt for each one
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+    private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Public routes never need the caller's identity, so don't spend a verification on them
+        return skipPublicPaths && publicPaths.matches(request);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
+        long start = System.nanoTime();
+        AuthMetrics.FilterOutcome outcome;
         try {
             String jwt = getJwtFromCookie(request);
 
-            if (jwt != null && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
-                String role = tokenProvider.getRoleFromToken(jwt);
-
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(email, null, Collections.singletonList(authority));
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (jwt == null) {
+                outcome = AuthMetrics.FilterOutcome.NO_TOKEN;
+            } else {
+                TokenVerification verification = tokenCache.verify(jwt);
+                if (verification.isValid() && revocationList.isRevoked(verification.principal().tokenId())) {
+                    failureMetrics.record(TokenVerification.Failure.REVOKED);
+                    outcome = AuthMetrics.FilterOutcome.REVOKED;
+                } else if (verification.isValid()) {
+                    authenticate(request, verification.principal());
+                    outcome = AuthMetrics.FilterOutcome.AUTHENTICATED;
+                } else {
+                    failureMetrics.record(verification.failure());
+                    outcome = AuthMetrics.FilterOutcome.REJECTED;
+                }
             }
         } catch (Exception ex) {
-            log.error("Could not set user authentication in security context", ex);
+            log.warn("Could not set user authentication in security context: {}", ex.toString());
+            outcome = AuthMetrics.FilterOutcome.ERROR;
         }
+        // Only our own work; the rest of the chain is covered by http.server.requests
+        authMetrics.recordFilter(outcome, System.nanoTime() - start);
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(HttpServletRequest request, JwtPrincipal principal) {
+        List<GrantedAuthority> authorities = authoritiesByRole.computeIfAbsent(String.valueOf(principal.role()),
+                role -> List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, authorities);
+        authentication.setDetails(detailsSource.buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
     private String getJwtFromCookie(HttpServletRequest request) {
-        Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if ("accessToken".equals(cookie.getName())) {
-                    return cookie.getValue();
-                }
-            }
-        }
-        return null;
+        return TokenCookies.find(request, TokenCookies.ACCESS_TOKEN);
     }
 }
@@ -0,0 +1,94 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Immutable set of keys the application accepts, with exactly one of them
+ * used to sign new tokens. Rotating produces a new ring in which the previous
+ * active key is kept for verification, so tokens issued just before a rotation
+ * stay valid until they expire or the key falls off the end of the ring.
+ */
+public final class JwtKeyRing {
+
+    private final JwtSigningKey active;
+    private final Map<String, JwtSigningKey> keysByKid;
+    private final JwtParser parser;
+
+    private JwtKeyRing(JwtSigningKey active, Map<String, JwtSigningKey> keysByKid) {
+        this.active = active;
+        this.keysByKid = Collections.unmodifiableMap(keysByKid);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KidResolver())
+                .build();
+    }
+
+    public static JwtKeyRing of(JwtSigningKey active) {
+        Map<String, JwtSigningKey> keys = new LinkedHashMap<>();
+        keys.put(active.kid(), active);
+        return new JwtKeyRing(active, keys);
+    }
+
+    /**
+     * Returns a ring signing with {@code next} that keeps verifying up to
+     * {@code retained} of this ring's keys, most recent first.
+     */
+    public JwtKeyRing rotate(JwtSigningKey next, int retained) {
+        Map<String, JwtSigningKey> keys = new LinkedHashMap<>();
+        keys.put(next.kid(), next);
+        for (JwtSigningKey key : keysByKid.values()) {
+            if (keys.size() > retained) {
+                break;
+            }
+            keys.putIfAbsent(key.kid(), key);
+        }
+        return new JwtKeyRing(next, keys);
+    }
+
+    public JwtSigningKey active() {
+        return active;
+    }
+
+    /**
+     * All keys tokens are accepted from, newest first.
+     */
+    public List<JwtSigningKey> keys() {
+        return new ArrayList<>(keysByKid.values());
+    }
+
+    /**
+     * A parser that picks the verification key by the token's {@code kid}.
+     * Safe to share between threads.
+     */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    private final class KidResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            // Every token is issued with a kid; one without is not ours
+            JwtSigningKey key = header.getKeyId() != null ? keysByKid.get(header.getKeyId()) : null;
+            if (key == null) {
+                throw new SignatureException("Unknown JWT key id");
+            }
+            if (!key.algorithm().getValue().equals(header.getAlgorithm())) {
+                throw new SignatureException("JWT algorithm does not match its key");
+            }
+            return key.verificationKey();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.time.Instant;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+
+/**
+ * Claims of an access token whose signature and expiry have been checked.
+ * {@code displayName}, {@code picture} and {@code profileVersion} are null for
+ * tokens issued without profile claims; {@code tokenId} (the {@code jti}) is null for
+ * tokens issued before ids were added.
+ */
+public record JwtPrincipal(String subject, String role, String displayName, String picture, Long profileVersion,
+        String tokenId, Instant expiresAt, Instant issuedAt) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    public boolean hasProfile() {
+        return profileVersion != null;
+    }
+
+    /**
+     * The profile as it was when the token was issued.
+     */
+    public UserDto profile() {
+        return new UserDto(subject, displayName, picture, role, profileVersion);
+    }
+}
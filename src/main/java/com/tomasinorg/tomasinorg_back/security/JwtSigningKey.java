@@ -0,0 +1,75 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.UUID;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * One entry of a {@link JwtKeyRing}: the key tokens are signed with, the key
+ * they are verified with, and the {@code kid} that ties a token to it. For HMAC
+ * both keys are the same secret and {@link #publicKey()} is {@code null}.
+ */
+public record JwtSigningKey(String kid, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+
+    public static JwtSigningKey hmac(String secret) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // Derived rather than random so every node sharing the secret agrees on the kid
+        String kid = "hs-" + TokenDigests.sha256("kid:" + secret).substring(0, 16);
+        return new JwtSigningKey(kid, SignatureAlgorithm.HS256, key, key);
+    }
+
+    /**
+     * Creates a fresh key pair for {@code algorithm}. The private half never
+     * leaves this process, so tokens signed with it stop verifying on restart.
+     */
+    public static JwtSigningKey generate(SignatureAlgorithm algorithm) {
+        requireAsymmetric(algorithm);
+        KeyPair keyPair = Keys.keyPairFor(algorithm);
+        return new JwtSigningKey(UUID.randomUUID().toString(), algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    /**
+     * Reads a PKCS#8 private key and X.509 public key, both PEM encoded. The kid
+     * is derived from the public key so all nodes loading the same pair agree.
+     */
+    public static JwtSigningKey fromPem(SignatureAlgorithm algorithm, String privateKeyPem, String publicKeyPem) {
+        requireAsymmetric(algorithm);
+        String keyAlgorithm = algorithm.isRsa() ? "RSA" : "EC";
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm);
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKeyPem)));
+            byte[] publicKeyDer = decodePem(publicKeyPem);
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(publicKeyDer));
+            String kid = TokenDigests.sha256(Base64.getEncoder().encodeToString(publicKeyDer)).substring(0, 16);
+            return new JwtSigningKey(kid, algorithm, privateKey, publicKey);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalArgumentException("Could not read " + algorithm + " key pair", ex);
+        }
+    }
+
+    public PublicKey publicKey() {
+        return verificationKey instanceof PublicKey publicKey ? publicKey : null;
+    }
+
+    private static void requireAsymmetric(SignatureAlgorithm algorithm) {
+        if (!algorithm.isRsa() && !algorithm.isEllipticCurve()) {
+            throw new IllegalArgumentException("Unsupported asymmetric JWT algorithm: " + algorithm);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -1,28 +1,35 @@
 package com.tomasinorg.tomasinorg_back.security;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
-import java.util.logging.Logger;
-
-import javax.crypto.SecretKey;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.stereotype.Component;
 
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Component
 public class JwtTokenProvider {
 
-    private static final Logger log = Logger.getLogger(JwtTokenProvider.class.getName());
-
-    @Value("${jwt.secret}")
+    @Value("${jwt.secret:}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
@@ -31,37 +38,128 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private long jwtRefreshExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    /** HS256 (shared {@code jwt.secret}), RS256 or ES256. */
+    @Value("${jwt.algorithm:HS256}")
+    private String algorithm = "HS256";
+
+    @Value("${jwt.private-key-location:}")
+    private String privateKeyLocation = "";
+
+    @Value("${jwt.public-key-location:}")
+    private String publicKeyLocation = "";
+
+    /** Shorten Google picture URLs in the {@code pic} claim. */
+    @Value("${jwt.claims.compress-picture:true}")
+    private boolean compressPicture = true;
+
+    /** How many previous keys keep verifying after a rotation. */
+    @Value("${jwt.key-ring.retained:2}")
+    private int retainedKeys = 2;
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    // Keys and parser are built once and swapped together on rotation, so a
+    // request never sees a parser built for a different ring than the signer.
+    private volatile JwtKeyRing keyRing;
+
+    /**
+     * Builds the initial key ring. Called by Spring after injection, and by
+     * code that constructs a provider by hand.
+     */
+    @PostConstruct
+    public void init() {
+        this.keyRing = JwtKeyRing.of(initialSigningKey());
+    }
+
+    /**
+     * Starts signing with the HMAC secret {@code newSecret}. Tokens signed with
+     * up to {@code jwt.key-ring.retained} previous keys keep validating, and a
+     * {@link SigningKeyRotatedEvent} is published.
+     */
+    public void rotateSigningKey(String newSecret) {
+        rotateSigningKey(JwtSigningKey.hmac(newSecret));
+    }
+
+    /**
+     * Starts signing with {@code next}, keeping previous keys for verification
+     * as {@link #rotateSigningKey(String)} does.
+     */
+    public void rotateSigningKey(JwtSigningKey next) {
+        this.keyRing = keyRing.rotate(next, retainedKeys);
+        log.info("JWT signing key rotated to kid {}", next.kid());
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new SigningKeyRotatedEvent());
+        }
+    }
+
+    /**
+     * The keys tokens are currently accepted from; the first one signs.
+     */
+    public JwtKeyRing getKeyRing() {
+        return keyRing;
     }
 
     public String generateToken(String email, String role) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationMs);
 
+        JwtSigningKey signingKey = keyRing.active();
+
         return Jwts.builder()
+                .setHeaderParam("kid", signingKey.kid())
+                // Lets the token be revoked before it expires
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
+                .compact();
+    }
+
+    /**
+     * An access token that also carries {@code user}'s profile as
+     * {@link ProfileClaims}, so it can be served without a database read.
+     */
+    public String generateToken(UserDto user) {
+        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationMs);
+
+        JwtSigningKey signingKey = keyRing.active();
+
+        return Jwts.builder()
+                .setHeaderParam("kid", signingKey.kid())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getEmail())
+                .claim("role", user.getRole())
+                .claim(ProfileClaims.CLAIMS_VERSION, ProfileClaims.CURRENT_CLAIMS_VERSION)
+                .claim(ProfileClaims.NAME, user.getName())
+                .claim(ProfileClaims.PICTURE,
+                        compressPicture ? ProfileClaims.compressPicture(user.getPicture()) : user.getPicture())
+                .claim(ProfileClaims.PROFILE_VERSION, user.getProfileVersion())
+                .setIssuedAt(new Date())
+                .setExpiration(expiryDate)
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
                 .compact();
     }
 
     public String generateRefreshToken(String email) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtRefreshExpirationMs);
 
+        JwtSigningKey signingKey = keyRing.active();
+
         return Jwts.builder()
+                .setHeaderParam("kid", signingKey.kid())
+                // Random id so two sessions issued in the same second get distinct tokens
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
                 .compact();
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        Claims claims = keyRing.parser()
                 .parseClaimsJws(token)
                 .getBody();
 
@@ -69,32 +167,53 @@ public class JwtTokenProvider {
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        Claims claims = keyRing.parser()
                 .parseClaimsJws(token)
                 .getBody();
 
         return claims.get("role", String.class);
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the signature and expiry of {@code token} and reads its claims in
+     * a single parse. Prefer this over calling {@link #validateToken},
+     * {@link #getEmailFromToken} and {@link #getRoleFromToken} in sequence,
+     * which parses and verifies the token once per call.
+     *
+     * <p>Rejections are returned, not logged; callers report them through
+     * {@link TokenFailureMetrics}.
+     */
+    public TokenVerification verify(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (MalformedJwtException ex) {
-            log.severe("Invalid JWT token");
+            Claims claims = keyRing.parser()
+                    .parseClaimsJws(token)
+                    .getBody();
+            boolean hasProfile = Integer.valueOf(ProfileClaims.CURRENT_CLAIMS_VERSION)
+                    .equals(claims.get(ProfileClaims.CLAIMS_VERSION, Integer.class));
+            return TokenVerification.valid(new JwtPrincipal(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    hasProfile ? claims.get(ProfileClaims.NAME, String.class) : null,
+                    hasProfile ? ProfileClaims.expandPicture(claims.get(ProfileClaims.PICTURE, String.class)) : null,
+                    hasProfile ? claims.get(ProfileClaims.PROFILE_VERSION, Long.class) : null,
+                    claims.getId(),
+                    toInstant(claims.getExpiration()),
+                    toInstant(claims.getIssuedAt())));
         } catch (ExpiredJwtException ex) {
-            log.severe("Expired JWT token");
+            return TokenVerification.failed(TokenVerification.Failure.EXPIRED);
+        } catch (SignatureException ex) {
+            return TokenVerification.failed(TokenVerification.Failure.BAD_SIGNATURE);
         } catch (UnsupportedJwtException ex) {
-            log.severe("Unsupported JWT token");
+            return TokenVerification.failed(TokenVerification.Failure.UNSUPPORTED);
+        } catch (JwtException ex) {
+            return TokenVerification.failed(TokenVerification.Failure.MALFORMED);
         } catch (IllegalArgumentException ex) {
-            log.severe("JWT claims string is empty");
+            return TokenVerification.failed(TokenVerification.Failure.EMPTY);
         }
-        return false;
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token).isValid();
     }
 
     public long getJwtExpirationMs() {
@@ -104,4 +223,29 @@ public class JwtTokenProvider {
     public long getJwtRefreshExpirationMs() {
         return jwtRefreshExpirationMs;
     }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private JwtSigningKey initialSigningKey() {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        if (signatureAlgorithm.isHmac()) {
+            return JwtSigningKey.hmac(jwtSecret);
+        }
+        if (privateKeyLocation.isBlank()) {
+            log.warn("No jwt.private-key-location set, generating an ephemeral {} key; "
+                    + "issued tokens will not verify after a restart or on other nodes", signatureAlgorithm);
+            return JwtSigningKey.generate(signatureAlgorithm);
+        }
+        return JwtSigningKey.fromPem(signatureAlgorithm, read(privateKeyLocation), read(publicKeyLocation));
+    }
+
+    private static String read(String location) {
+        try (InputStream in = new DefaultResourceLoader().getResource(location).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not read JWT key from " + location, ex);
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.tomasinorg.tomasinorg_back.security;
 import com.tomasinorg.tomasinorg_back.model.Role;
 import com.tomasinorg.tomasinorg_back.model.User;
 import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.service.RefreshTokenService;
+import com.tomasinorg.tomasinorg_back.service.UserService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +28,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
     private final UserRepository userRepository;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final UserService userService;
+    private final AuthMetrics authMetrics;
 
     @Value("${frontend.url}")
     private String frontendUrl;
@@ -34,6 +39,21 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                         Authentication authentication) throws IOException, ServletException {
 
+        long start = System.nanoTime();
+        AuthMetrics.IssueOutcome outcome = AuthMetrics.IssueOutcome.ERROR;
+        try {
+            issueTokens(request, response, authentication);
+            outcome = AuthMetrics.IssueOutcome.ISSUED;
+        } finally {
+            authMetrics.recordIssue(AuthMetrics.Flow.LOGIN, outcome, System.nanoTime() - start);
+        }
+
+        // Redirect to frontend
+        getRedirectStrategy().sendRedirect(request, response, frontendUrl + "/oauth2/redirect");
+    }
+
+    private void issueTokens(HttpServletRequest request, HttpServletResponse response,
+                             Authentication authentication) {
         OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
         Map<String, Object> attributes = oauth2User.getAttributes();
 
@@ -42,25 +62,23 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         String picture = (String) attributes.get("picture");
         String googleId = (String) attributes.get("sub");
 
-        // Find user (should already be created/updated by CustomOAuth2UserService)
-        User user = userRepository.findByGoogleId(googleId)
-                .orElseGet(() -> createNewUser(email, name, picture, googleId));
+        // CustomOAuth2UserService hands over the row it just saved; other login
+        // flows (e.g. OIDC) don't go through it and fall back to a lookup
+        User user = oauth2User instanceof GoogleOAuth2User googleUser
+                ? googleUser.getUser()
+                : userRepository.findByGoogleId(googleId)
+                        .orElseGet(() -> createNewUser(email, name, picture, googleId));
 
         // Generate JWT tokens
-        String jwtAccessToken = tokenProvider.generateToken(email, user.getRole().toString());
+        String jwtAccessToken = tokenProvider.generateToken(userService.convertToDto(user));
         String jwtRefreshToken = tokenProvider.generateRefreshToken(email);
 
-        // Update user's JWT refresh token in database (keep Google tokens separate)
-        user.setRefreshToken(jwtRefreshToken);
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
+        // Record the session; only a hash of the refresh token is stored (keep Google tokens separate)
+        refreshTokenService.issue(user, jwtRefreshToken, request.getHeader("User-Agent"));
 
         // Set cookies
         setTokenCookie(response, "accessToken", jwtAccessToken, (int) (tokenProvider.getJwtExpirationMs() / 1000));
         setTokenCookie(response, "refreshToken", jwtRefreshToken, (int) (tokenProvider.getJwtRefreshExpirationMs() / 1000));
-
-        // Redirect to frontend
-        getRedirectStrategy().sendRedirect(request, response, frontendUrl + "/oauth2/redirect");
     }
 
     private User createNewUser(String email, String name, String picture, String googleId) {
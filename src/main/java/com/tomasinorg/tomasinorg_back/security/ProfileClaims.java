@@ -0,0 +1,68 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.springframework.util.DigestUtils;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+
+/**
+ * The profile claims carried in access tokens, so the profile can be served
+ * from a verified token without a database read.
+ *
+ * <p>{@code cv} versions the claim set itself: tokens with another value are
+ * treated as carrying no profile. {@code pv} is the user's profile version when
+ * the token was issued. It only goes up, so of two copies of a profile the one
+ * with the higher version is the newer.
+ */
+public final class ProfileClaims {
+
+    public static final String CLAIMS_VERSION = "cv";
+    public static final String NAME = "name";
+    public static final String PICTURE = "pic";
+    public static final String PROFILE_VERSION = "pv";
+
+    // 2: pv became the numeric profile version; it was a digest in version 1
+    public static final int CURRENT_CLAIMS_VERSION = 2;
+
+    // Google profile pictures all live under this prefix; a short alias saves ~30 bytes per token
+    private static final Map<String, String> PICTURE_PREFIXES = Map.of(
+            "g:", "https://lh3.googleusercontent.com/");
+
+    private ProfileClaims() {
+    }
+
+    /**
+     * A short digest of the fields the profile is served from, used as its ETag.
+     */
+    public static String digest(UserDto profile) {
+        String fields = profile.getEmail() + '\n' + profile.getName() + '\n'
+                + profile.getPicture() + '\n' + profile.getRole();
+        return DigestUtils.md5DigestAsHex(fields.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    static String compressPicture(String picture) {
+        if (picture == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> prefix : PICTURE_PREFIXES.entrySet()) {
+            if (picture.startsWith(prefix.getValue())) {
+                return prefix.getKey() + picture.substring(prefix.getValue().length());
+            }
+        }
+        return picture;
+    }
+
+    static String expandPicture(String picture) {
+        if (picture == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> prefix : PICTURE_PREFIXES.entrySet()) {
+            if (picture.startsWith(prefix.getKey())) {
+                return prefix.getValue() + picture.substring(prefix.getKey().length());
+            }
+        }
+        return picture;
+    }
+}
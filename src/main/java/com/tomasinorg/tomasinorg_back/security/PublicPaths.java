@@ -0,0 +1,57 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The paths anyone may call without a token. {@code SecurityConfig} permits
+ * exactly these, and {@link JwtAuthenticationFilter} skips token processing on
+ * them, so the two can't drift apart. Extra patterns can be appended with
+ * {@code security.public-paths.additional}.
+ */
+@Component
+public class PublicPaths {
+
+    private static final List<String> DEFAULTS = List.of(
+            "/", "/error", "/favicon.ico",
+            "/static/**", "/public/**", "/webjars/**",
+            "/oauth2/**", "/login/**",
+            "/api/public/**",
+            "/auth/refresh", "/auth/logout",
+            "/.well-known/jwks.json",
+            "/actuator/health");
+
+    private final String[] patterns;
+    private final RequestMatcher matcher;
+
+    public PublicPaths(@Value("${security.public-paths.additional:}") String[] additional) {
+        List<String> all = new ArrayList<>(DEFAULTS);
+        Arrays.stream(additional)
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .forEach(all::add);
+        this.patterns = all.toArray(String[]::new);
+
+        PathPatternRequestMatcher.Builder builder = PathPatternRequestMatcher.withDefaults();
+        this.matcher = new OrRequestMatcher(all.stream()
+                .map(builder::matcher)
+                .toArray(RequestMatcher[]::new));
+    }
+
+    public String[] patterns() {
+        return patterns.clone();
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        return matcher.matches(request);
+    }
+}
@@ -0,0 +1,139 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * This node's copy of the revoked access-token ids, checked on every
+ * authenticated request. A Bloom filter answers the common "not revoked" case
+ * with a handful of bit reads; only its positives are confirmed against the
+ * exact set, so false positives never reject a valid token.
+ *
+ * <p>Entries are dropped once the token they revoke has expired. Bloom filters
+ * can't delete, so the filter is rebuilt from the exact set when that happens.
+ */
+@Component
+public class RevocationList implements MeterBinder {
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    // Token id -> expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom;
+
+    public RevocationList(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                          @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloom = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && bloom.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public void add(String tokenId, long expiresAtMillis) {
+        // Exact set first: a reader that passes the Bloom check must find it there
+        revoked.put(tokenId, expiresAtMillis);
+        bloom.add(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.revocations", this, RevocationList::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(registry);
+    }
+
+    /**
+     * Forgets revocations of tokens that have expired by {@code nowMillis},
+     * rebuilding the Bloom filter if any were removed.
+     */
+    public int purgeExpired(long nowMillis) {
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        int removed = before - revoked.size();
+        if (removed > 0) {
+            rebuild();
+        }
+        return removed;
+    }
+
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        bloom = rebuilt;
+        // Ids added concurrently may have gone into the old filter; every one of them
+        // was already in the exact set before the swap, so a second pass catches it
+        revoked.keySet().forEach(rebuilt::add);
+    }
+
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashes;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((m + 63) >>> 6));
+            this.bitCount = (long) bits.length() << 6;
+            this.hashes = Math.max(1, (int) Math.round((double) m / expectedEntries * Math.log(2)));
+        }
+
+        void add(String value) {
+            long hash = hash(value);
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                while (((current = bits.get(word)) & mask) == 0) {
+                    if (bits.compareAndSet(word, current, current | mask)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            long h1 = hash;
+            long h2 = (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** 64-bit FNV-1a, finished with the SplitMix64 mixer. */
+        private static long hash(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+            h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+            return h ^ (h >>> 31);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+/**
+ * Published by {@link JwtTokenProvider} after its signing key changes, so
+ * anything holding verification results made with the old key can drop them.
+ */
+public record SigningKeyRotatedEvent() {
+}
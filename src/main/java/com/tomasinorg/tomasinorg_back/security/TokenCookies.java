@@ -0,0 +1,80 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.util.Enumeration;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Reads the token cookies straight from the raw {@code Cookie} header.
+ *
+ * <p>{@link HttpServletRequest#getCookies()} makes the container parse every
+ * cookie the browser sent into a {@code Cookie[]}; the authentication path only
+ * ever wants one value, so this scans the header for that name and allocates
+ * nothing but the returned substring.
+ */
+public final class TokenCookies {
+
+    public static final String ACCESS_TOKEN = "accessToken";
+    public static final String REFRESH_TOKEN = "refreshToken";
+
+    private TokenCookies() {
+    }
+
+    /**
+     * Returns the value of the first cookie called {@code name}, or {@code null}
+     * if the request does not carry it.
+     */
+    public static String find(HttpServletRequest request, String name) {
+        Enumeration<String> headers = request.getHeaders("Cookie");
+        if (headers == null) {
+            return null;
+        }
+        while (headers.hasMoreElements()) {
+            String value = findInHeader(headers.nextElement(), name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    static String findInHeader(String header, String name) {
+        if (header == null) {
+            return null;
+        }
+        int length = header.length();
+        int nameLength = name.length();
+        int pos = 0;
+        while (pos < length) {
+            while (pos < length && isWhitespace(header.charAt(pos))) {
+                pos++;
+            }
+            int end = header.indexOf(';', pos);
+            if (end < 0) {
+                end = length;
+            }
+            if (end - pos > nameLength
+                    && header.charAt(pos + nameLength) == '='
+                    && header.regionMatches(pos, name, 0, nameLength)) {
+                return unquote(header, pos + nameLength + 1, end);
+            }
+            pos = end + 1;
+        }
+        return null;
+    }
+
+    private static String unquote(String header, int start, int end) {
+        while (end > start && isWhitespace(header.charAt(end - 1))) {
+            end--;
+        }
+        if (end - start >= 2 && header.charAt(start) == '"' && header.charAt(end - 1) == '"') {
+            start++;
+            end--;
+        }
+        return header.substring(start, end);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
@@ -0,0 +1,29 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Fixed-length fingerprints of token strings, for use as lookup keys where
+ * holding the raw token is unnecessary.
+ */
+public final class TokenDigests {
+
+    private TokenDigests() {
+    }
+
+    /**
+     * Returns the lowercase hex SHA-256 of {@code token} (64 characters).
+     */
+    public static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
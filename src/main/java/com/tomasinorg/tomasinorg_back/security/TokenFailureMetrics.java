@@ -0,0 +1,81 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts rejected tokens by {@link TokenVerification.Failure}. Rejections are
+ * expected traffic (every stale cookie after a deploy is one), so instead of a
+ * log line per token this writes at most one aggregated summary per
+ * {@code jwt.failure-log-interval}, and never a stack trace. The totals are
+ * also exported as the {@code auth.token.rejections} counter.
+ */
+@Slf4j
+@Component
+public class TokenFailureMetrics implements MeterBinder {
+
+    private final Map<TokenVerification.Failure, LongAdder> totals = new EnumMap<>(TokenVerification.Failure.class);
+    private final Map<TokenVerification.Failure, LongAdder> sinceLastLog = new EnumMap<>(TokenVerification.Failure.class);
+    private final long logIntervalNanos;
+    private final AtomicLong nextLogAt;
+
+    public TokenFailureMetrics(@Value("${jwt.failure-log-interval:60s}") Duration logInterval) {
+        for (TokenVerification.Failure failure : TokenVerification.Failure.values()) {
+            totals.put(failure, new LongAdder());
+            sinceLastLog.put(failure, new LongAdder());
+        }
+        this.logIntervalNanos = logInterval.toNanos();
+        this.nextLogAt = new AtomicLong(System.nanoTime());
+    }
+
+    public void record(TokenVerification.Failure failure) {
+        totals.get(failure).increment();
+        sinceLastLog.get(failure).increment();
+
+        long now = System.nanoTime();
+        long due = nextLogAt.get();
+        if (now - due >= 0 && nextLogAt.compareAndSet(due, now + logIntervalNanos)) {
+            logSummary();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        totals.forEach((failure, count) -> FunctionCounter.builder("auth.token.rejections", count, LongAdder::sum)
+                .description("Access and refresh tokens rejected, by reason")
+                .tag("reason", failure.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+    }
+
+    /**
+     * Total rejections per failure type since startup.
+     */
+    public Map<TokenVerification.Failure, Long> snapshot() {
+        Map<TokenVerification.Failure, Long> snapshot = new EnumMap<>(TokenVerification.Failure.class);
+        totals.forEach((failure, count) -> snapshot.put(failure, count.sum()));
+        return snapshot;
+    }
+
+    private void logSummary() {
+        StringBuilder summary = new StringBuilder();
+        sinceLastLog.forEach((failure, count) -> {
+            long n = count.sumThenReset();
+            if (n > 0) {
+                summary.append(summary.isEmpty() ? "" : ", ").append(failure).append('=').append(n);
+            }
+        });
+        log.warn("Rejected JWTs since last report: {}", summary);
+    }
+}
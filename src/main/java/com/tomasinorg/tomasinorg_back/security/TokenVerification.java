@@ -0,0 +1,30 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+/**
+ * Outcome of {@link JwtTokenProvider#verify(String)}: either the verified
+ * principal or the reason the token was rejected, never both.
+ */
+public record TokenVerification(JwtPrincipal principal, Failure failure) {
+
+    public enum Failure {
+        EXPIRED,
+        MALFORMED,
+        BAD_SIGNATURE,
+        UNSUPPORTED,
+        EMPTY,
+        // Valid, but revoked through TokenRevocationService
+        REVOKED
+    }
+
+    public static TokenVerification valid(JwtPrincipal principal) {
+        return new TokenVerification(principal, null);
+    }
+
+    public static TokenVerification failed(Failure failure) {
+        return new TokenVerification(null, failure);
+    }
+
+    public boolean isValid() {
+        return principal != null;
+    }
+}
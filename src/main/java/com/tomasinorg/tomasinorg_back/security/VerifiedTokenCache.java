@@ -0,0 +1,119 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers tokens that {@link JwtTokenProvider} has already verified, keyed by
+ * the SHA-256 of the token, so a browser resending the same cookie skips the
+ * signature check. Each entry lives until the token's own {@code exp}; the
+ * cache is bounded and evicts with Caffeine's W-TinyLFU policy.
+ *
+ * <p>Only successful verifications are cached. Entries are dropped on logout
+ * and on signing key rotation. Disabled unless {@code jwt.cache.enabled=true},
+ * in which case every call goes straight to the provider.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final JwtTokenProvider tokenProvider;
+    private final Cache<String, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(JwtTokenProvider tokenProvider,
+                              @Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.tokenProvider = tokenProvider;
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    public TokenVerification verify(String token) {
+        if (cache == null) {
+            return tokenProvider.verify(token);
+        }
+
+        String key = TokenDigests.sha256(token);
+        JwtPrincipal cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return TokenVerification.valid(cached);
+        }
+
+        TokenVerification verification = tokenProvider.verify(token);
+        if (verification.isValid() && verification.principal().expiresAt() != null) {
+            cache.put(key, verification.principal());
+        }
+        return verification;
+    }
+
+    public void invalidate(String token) {
+        if (cache != null) {
+            cache.invalidate(TokenDigests.sha256(token));
+        }
+    }
+
+    @EventListener
+    public void onSigningKeyRotated(SigningKeyRotatedEvent event) {
+        if (cache != null) {
+            log.info("Signing key rotated, dropping {} cached token verifications", cache.estimatedSize());
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "verifiedTokens");
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public long size() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            long nanos = Duration.between(Instant.now(), principal.expiresAt()).toNanos();
+            return Math.max(nanos, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
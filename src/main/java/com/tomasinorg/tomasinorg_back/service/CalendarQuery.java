@@ -0,0 +1,109 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which calendar events to fetch: a time window, a page size, the
+ * {@link com.tomasinorg.tomasinorg_back.dto.CalendarEventDto} fields to return
+ * and the Google page to start from. Maps onto Google's {@code timeMin},
+ * {@code timeMax}, {@code maxResults}, {@code fields} and {@code pageToken}
+ * parameters, and round-trips through an opaque cursor so clients only pass
+ * that back to page.
+ */
+public record CalendarQuery(Instant timeMin, Instant timeMax, int maxResults, List<String> fields, String pageToken) {
+
+    public static final int DEFAULT_MAX_RESULTS = 50;
+    public static final int MAX_RESULTS_LIMIT = 250;
+
+    /** Fields that can be asked for; {@code id} is always returned. */
+    public static final List<String> SELECTABLE_FIELDS =
+            List.of("id", "status", "summary", "description", "location", "htmlLink", "start", "end");
+
+    private static final String SEPARATOR = "\n";
+
+    public CalendarQuery {
+        if (timeMin != null && timeMax != null && !timeMin.isBefore(timeMax)) {
+            throw new IllegalArgumentException("timeMin must be before timeMax");
+        }
+        if (maxResults < 1 || maxResults > MAX_RESULTS_LIMIT) {
+            throw new IllegalArgumentException("maxResults must be between 1 and " + MAX_RESULTS_LIMIT);
+        }
+        fields = List.copyOf(fields);
+    }
+
+    /**
+     * A first-page query; null arguments take the defaults, and a null or blank
+     * {@code fields} selects every field.
+     */
+    public static CalendarQuery of(Instant timeMin, Instant timeMax, Integer maxResults, String fields) {
+        return new CalendarQuery(timeMin, timeMax,
+                maxResults != null ? maxResults : DEFAULT_MAX_RESULTS,
+                parseFields(fields),
+                null);
+    }
+
+    public static CalendarQuery defaults() {
+        return of(null, null, null, null);
+    }
+
+    public static CalendarQuery fromCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+            if (parts.length != 5 || parts[4].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new CalendarQuery(instant(parts[0]), instant(parts[1]), Integer.parseInt(parts[2]),
+                    parseFields(parts[3]), parts[4]);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * The cursor for the page Google returned {@code nextPageToken} for.
+     */
+    public String nextCursor(String nextPageToken) {
+        String state = String.join(SEPARATOR,
+                timeMin != null ? timeMin.toString() : "",
+                timeMax != null ? timeMax.toString() : "",
+                Integer.toString(maxResults),
+                String.join(",", fields),
+                nextPageToken);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(state.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Google's partial-response mask, so only the selected event fields are
+     * sent over the wire.
+     */
+    public String googleFields() {
+        return "nextPageToken,items(" + String.join(",", fields) + ")";
+    }
+
+    private static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return SELECTABLE_FIELDS;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!SELECTABLE_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return List.copyOf(selected);
+    }
+
+    private static Instant instant(String value) {
+        return value.isEmpty() ? null : Instant.parse(value);
+    }
+}
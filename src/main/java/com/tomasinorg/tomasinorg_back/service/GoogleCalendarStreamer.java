@@ -0,0 +1,159 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tomasinorg.tomasinorg_back.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pipes a user's calendar events from Google to the client without building
+ * them on the heap. Each page is read from Google as raw bytes, then its items
+ * are copied token by token to the response through Jackson's streaming API,
+ * so memory stays at one page whatever the calendar's size. Pages are followed
+ * via {@code nextPageToken} and written out as they arrive, as one
+ * {@code {"items":[...]}} document.
+ *
+ * <p>Only the fetch from Google runs inside {@link GoogleCallGuard}: a slow
+ * client writing the response neither holds a bulkhead permit nor counts as
+ * a slow Google call.
+ */
+@Slf4j
+@Service
+public class GoogleCalendarStreamer {
+
+    private final UserService userService;
+    private final GoogleTokenService googleTokenService;
+    private final RestTemplate restTemplate;
+    private final GoogleCallGuard callGuard;
+    private final JsonFactory jsonFactory;
+
+    @Value("${google.api.calendar-events-url:https://www.googleapis.com/calendar/v3/calendars/primary/events}")
+    private String calendarEventsUrl;
+
+    /** Events requested per upstream page; Google allows up to 2500. */
+    @Value("${google.calendar-stream.page-size:250}")
+    private int pageSize = 250;
+
+    /** Pages followed per request; a {@code nextPageToken} is returned past this. */
+    @Value("${google.calendar-stream.max-pages:40}")
+    private int maxPages = 40;
+
+    public GoogleCalendarStreamer(UserService userService, GoogleTokenService googleTokenService,
+                                  RestTemplate restTemplate, GoogleCallGuard callGuard, ObjectMapper objectMapper) {
+        this.userService = userService;
+        this.googleTokenService = googleTokenService;
+        this.restTemplate = restTemplate;
+        this.callGuard = callGuard;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Resolves the user's access token now, so a missing user or failed token
+     * refresh is reported before the response is committed, and returns the
+     * body that streams their events.
+     *
+     * @param fields optional Google field mask applied to each event, e.g.
+     *               {@code id,summary,start,end}
+     * @param pageToken optional page to start from
+     */
+    public StreamingResponseBody streamCalendarEvents(String userEmail, String fields, String pageToken) {
+        User user = userService.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        String accessToken = googleTokenService.getAccessToken(user);
+        return out -> copyPages(accessToken, fields, pageToken, out);
+    }
+
+    void copyPages(String accessToken, String fields, String pageToken, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+
+            String next = pageToken;
+            int pages = 0;
+            do {
+                next = copyPage(accessToken, fields, next, generator);
+                // Send each page on as soon as it is copied
+                generator.flush();
+            } while (next != null && ++pages < maxPages);
+
+            generator.writeEndArray();
+            if (next != null) {
+                generator.writeStringField("nextPageToken", next);
+            }
+            generator.writeEndObject();
+        } catch (RuntimeException e) {
+            // Headers are already sent; aborting leaves the client with truncated JSON
+            log.error("Error streaming calendar events: {}", e.getMessage());
+            throw new IOException("Failed to stream calendar events", e);
+        }
+    }
+
+    private String copyPage(String accessToken, String fields, String pageToken, JsonGenerator generator)
+            throws IOException {
+        // Values go in as URI variables so reserved characters in them, such as
+        // '+' in a page token, are percent-encoded
+        Map<String, Object> params = new HashMap<>();
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(calendarEventsUrl)
+                .queryParam("maxResults", pageSize);
+        if (fields != null && !fields.isBlank()) {
+            // nextPageToken is always needed to follow the pages
+            uri.queryParam("fields", "{fields}");
+            params.put("fields", "nextPageToken,items(" + fields + ")");
+        }
+        if (pageToken != null) {
+            uri.queryParam("pageToken", "{pageToken}");
+            params.put("pageToken", pageToken);
+        }
+        URI pageUri = uri.encode().buildAndExpand(params).toUri();
+
+        byte[] page = callGuard.call(GoogleCallGuard.CALENDAR, () -> restTemplate.execute(pageUri, HttpMethod.GET,
+                request -> request.getHeaders().setBearerAuth(accessToken),
+                response -> StreamUtils.copyToByteArray(response.getBody())));
+        return copyItems(page, generator);
+    }
+
+    /**
+     * Copies the {@code items} of one page into {@code generator}, skipping
+     * everything else, and returns the page's {@code nextPageToken}.
+     */
+    private String copyItems(byte[] page, JsonGenerator generator) throws IOException {
+        String nextPageToken = null;
+        try (JsonParser parser = jsonFactory.createParser(page)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Unexpected calendar response");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("items".equals(name) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        generator.copyCurrentStructure(parser);
+                    }
+                } else if ("nextPageToken".equals(name)) {
+                    nextPageToken = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return nextPageToken;
+    }
+}
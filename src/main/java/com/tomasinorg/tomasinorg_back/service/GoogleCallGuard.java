@@ -0,0 +1,160 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import com.tomasinorg.tomasinorg_back.exception.GoogleUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead per Google endpoint. When an endpoint keeps
+ * timing out or failing, its breaker opens and calls fail at once with
+ * {@link GoogleUnavailableException} instead of tying up a request thread;
+ * the bulkhead caps how many requests can be waiting on it at the same time.
+ * Breaker state, call outcomes and bulkhead usage are exported under
+ * {@code resilience4j.*}.
+ */
+@Slf4j
+@Component
+public class GoogleCallGuard implements MeterBinder {
+
+    public static final String CALENDAR = "calendar";
+    public static final String TOKEN = "token";
+
+    private static final List<String> ENDPOINTS = List.of(CALENDAR, TOKEN);
+
+    /** Percentage of failed or slow calls in the window that opens the breaker. */
+    @Value("${google.resilience.failure-rate-threshold:50}")
+    private float failureRateThreshold = 50;
+
+    /** Calls slower than this count against the breaker like failures. */
+    @Value("${google.resilience.slow-call-duration:5s}")
+    private Duration slowCallDuration = Duration.ofSeconds(5);
+
+    @Value("${google.resilience.sliding-window-size:50}")
+    private int slidingWindowSize = 50;
+
+    /** Calls needed in the window before the failure rate is acted on. */
+    @Value("${google.resilience.minimum-calls:20}")
+    private int minimumCalls = 20;
+
+    /** How long an open breaker rejects calls before letting a few probes through. */
+    @Value("${google.resilience.open-duration:30s}")
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    @Value("${google.resilience.max-concurrent-calls:50}")
+    private int maxConcurrentCalls = 50;
+
+    /** How long a call may wait for a bulkhead slot before it is rejected. */
+    @Value("${google.resilience.max-wait:0ms}")
+    private Duration maxWait = Duration.ZERO;
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private BulkheadRegistry bulkheads;
+    private final Map<String, LongAdder> bulkheadRejections = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                // Google answering with a 4xx is up; only outages and overload count
+                .recordException(GoogleCallGuard::isUpstreamFailure)
+                .build());
+        bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+
+        for (String endpoint : ENDPOINTS) {
+            CircuitBreaker breaker = circuitBreakers.circuitBreaker(endpoint);
+            breaker.getEventPublisher().onStateTransition(event ->
+                    log.warn("Google {} circuit breaker {}", endpoint, event.getStateTransition()));
+            LongAdder rejections = bulkheadRejections.computeIfAbsent(endpoint, name -> new LongAdder());
+            bulkheads.bulkhead(endpoint).getEventPublisher().onCallRejected(event -> rejections.increment());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+        bulkheadRejections.forEach((endpoint, rejections) ->
+                FunctionCounter.builder("resilience4j.bulkhead.rejected.calls", rejections, LongAdder::sum)
+                        .description("Calls refused because the bulkhead was full")
+                        .tag("name", endpoint)
+                        .register(registry));
+    }
+
+    /**
+     * Runs {@code call} against {@code endpoint}'s bulkhead and breaker.
+     *
+     * @throws GoogleUnavailableException if the call was refused without
+     *         being attempted
+     */
+    public <T> T call(String endpoint, Supplier<T> call) {
+        CircuitBreaker breaker = circuitBreakers.circuitBreaker(endpoint);
+        Bulkhead bulkhead = bulkheads.bulkhead(endpoint);
+        try {
+            // Bulkhead outside the breaker, so rejections for overload don't count as Google failures
+            return bulkhead.executeSupplier(() -> breaker.executeSupplier(call));
+        } catch (CallNotPermittedException e) {
+            throw new GoogleUnavailableException("Google " + endpoint + " is unavailable", e);
+        } catch (BulkheadFullException e) {
+            throw new GoogleUnavailableException("Too many concurrent Google " + endpoint + " calls", e);
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            CircuitBreaker.Metrics breaker = circuitBreakers.circuitBreaker(endpoint).getMetrics();
+            Bulkhead.Metrics bulkhead = bulkheads.bulkhead(endpoint).getMetrics();
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("state", circuitBreakers.circuitBreaker(endpoint).getState().name());
+            metrics.put("failureRate", breaker.getFailureRate());
+            metrics.put("slowCallRate", breaker.getSlowCallRate());
+            metrics.put("bufferedCalls", breaker.getNumberOfBufferedCalls());
+            metrics.put("failedCalls", breaker.getNumberOfFailedCalls());
+            metrics.put("notPermittedCalls", breaker.getNumberOfNotPermittedCalls());
+            metrics.put("bulkheadAvailable", bulkhead.getAvailableConcurrentCalls());
+            metrics.put("bulkheadRejected", bulkheadRejections.get(endpoint).sum());
+            snapshot.put(endpoint, metrics);
+        }
+        return snapshot;
+    }
+
+    private static boolean isUpstreamFailure(Throwable e) {
+        return e instanceof ResourceAccessException
+                || e instanceof HttpServerErrorException
+                || e instanceof HttpClientErrorException.TooManyRequests;
+    }
+}
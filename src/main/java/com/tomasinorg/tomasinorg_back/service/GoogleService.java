@@ -1,17 +1,35 @@
 package com.tomasinorg.tomasinorg_back.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tomasinorg.tomasinorg_back.dto.CalendarEventDto;
+import com.tomasinorg.tomasinorg_back.dto.CalendarEventsPage;
+import com.tomasinorg.tomasinorg_back.exception.GoogleUnavailableException;
 import com.tomasinorg.tomasinorg_back.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.time.LocalDateTime;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Slf4j
 @Service
@@ -20,85 +38,182 @@ public class GoogleService {
 
     private final UserService userService;
     private final RestTemplate restTemplate;
+    private final GoogleTokenService googleTokenService;
+    private final GoogleCallGuard callGuard;
 
-    public Object getCalendarEvents(String userEmail) {
+    @Value("${google.api.calendar-events-url:https://www.googleapis.com/calendar/v3/calendars/primary/events}")
+    private String calendarEventsUrl;
+
+    @Value("${google.calendar-cache.enabled:true}")
+    private boolean calendarCacheEnabled;
+
+    /** How long a cached calendar is served without revalidating. */
+    @Value("${google.calendar-cache.ttl:30s}")
+    private Duration calendarCacheTtl;
+
+    /** How long a stale calendar may still be served while it revalidates. */
+    @Value("${google.calendar-cache.max-stale:10m}")
+    private Duration calendarCacheMaxStale;
+
+    @Value("${google.calendar-cache.max-size:10000}")
+    private long calendarCacheMaxSize;
+
+    private Cache<CalendarKey, CachedCalendar> calendarCache;
+    private final Set<CalendarKey> revalidating = ConcurrentHashMap.newKeySet();
+    private final ExecutorService revalidationExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void init() {
+        if (calendarCacheEnabled) {
+            calendarCache = Caffeine.newBuilder()
+                    .maximumSize(calendarCacheMaxSize)
+                    .expireAfterWrite(calendarCacheTtl.plus(calendarCacheMaxStale))
+                    .build();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        revalidationExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the page of the user's calendar events selected by {@code query}.
+     * With the cache enabled, a copy younger than
+     * {@code google.calendar-cache.ttl} is returned as is; an older one is
+     * still returned immediately while a background request revalidates it
+     * with {@code If-None-Match}, so Google only resends events that changed.
+     * While Google is failing, that stale copy keeps being served for up to
+     * {@code google.calendar-cache.max-stale}.
+     */
+    public CalendarEventsPage getCalendarEvents(String userEmail, CalendarQuery query) {
+        CalendarKey key = new CalendarKey(userEmail, query);
+        if (calendarCache == null) {
+            return fetchCalendarEvents(key, null).body();
+        }
+
+        CachedCalendar cached = calendarCache.getIfPresent(key);
+        if (cached == null) {
+            return fetchCalendarEvents(key, null).body();
+        }
+        if (cached.isOlderThan(calendarCacheTtl)) {
+            revalidateInBackground(key, cached);
+        }
+        return cached.body();
+    }
+
+    private CachedCalendar fetchCalendarEvents(CalendarKey key, CachedCalendar previous) {
+        String userEmail = key.email();
+        CalendarQuery query = key.query();
         User user = userService.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String accessToken = user.getAccessToken();
-        
-        // Check if token is expired
-        if (isTokenExpired(user)) {
-            accessToken = refreshAccessToken(user);
-        }
+        // Refreshed first if it is expired or about to be
+        String accessToken = googleTokenService.getAccessToken(user);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
+        if (previous != null && previous.etag() != null) {
+            headers.setIfNoneMatch(previous.etag());
+        }
         HttpEntity<String> entity = new HttpEntity<>(headers);
 
         try {
-            ResponseEntity<Object> response = restTemplate.exchange(
-                "https://www.googleapis.com/calendar/v3/calendars/primary/events",
+            ResponseEntity<GoogleEvents> response = callGuard.call(GoogleCallGuard.CALENDAR, () -> restTemplate.exchange(
+                eventsUri(query),
                 HttpMethod.GET,
                 entity,
-                Object.class
-            );
-            return response.getBody();
+                GoogleEvents.class
+            ));
+
+            CachedCalendar fetched = response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && previous != null
+                    ? previous.revalidated()
+                    : new CachedCalendar(toPage(response.getBody(), query), response.getHeaders().getETag(),
+                            System.nanoTime());
+            if (calendarCache != null) {
+                calendarCache.put(key, fetched);
+            }
+            return fetched;
+        } catch (GoogleUnavailableException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("Error fetching calendar events: {}", e.getMessage());
             throw new RuntimeException("Failed to fetch calendar events");
         }
     }
 
-    private boolean isTokenExpired(User user) {
-        return user.getTokenExpiresAt() != null && 
-               user.getTokenExpiresAt().isBefore(LocalDateTime.now());
+    private URI eventsUri(CalendarQuery query) {
+        // Recurring events expanded and ordered by start, as an agenda shows them
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(calendarEventsUrl)
+                .queryParam("singleEvents", true)
+                .queryParam("orderBy", "startTime")
+                .queryParam("maxResults", query.maxResults())
+                .queryParam("fields", "{fields}");
+        Map<String, Object> params = new HashMap<>();
+        params.put("fields", query.googleFields());
+        if (query.timeMin() != null) {
+            uri.queryParam("timeMin", "{timeMin}");
+            params.put("timeMin", query.timeMin().toString());
+        }
+        if (query.timeMax() != null) {
+            uri.queryParam("timeMax", "{timeMax}");
+            params.put("timeMax", query.timeMax().toString());
+        }
+        if (query.pageToken() != null) {
+            uri.queryParam("pageToken", "{pageToken}");
+            params.put("pageToken", query.pageToken());
+        }
+        return uri.encode().buildAndExpand(params).toUri();
     }
 
-    private String refreshAccessToken(User user) {
-        // Implementation for refreshing Google access token using refresh token
-        // This is a simplified version - in production you'd need proper OAuth2 flow
-        
-        if (user.getGoogleRefreshToken() == null) {
-            throw new RuntimeException("No Google refresh token available");
+    private static CalendarEventsPage toPage(GoogleEvents events, CalendarQuery query) {
+        if (events == null) {
+            return new CalendarEventsPage(List.of(), null);
         }
+        return new CalendarEventsPage(
+                events.items() != null ? events.items() : List.of(),
+                events.nextPageToken() != null ? query.nextCursor(events.nextPageToken()) : null);
+    }
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/x-www-form-urlencoded");
-
-            String body = "client_id=727162544518-11ckdobgf43uipugmrvho4msi70admg5.apps.googleusercontent.com" +
-                         "&client_secret=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" +
-                         "&refresh_token=" + user.getGoogleRefreshToken() +
-                         "&grant_type=refresh_token";
+    private void revalidateInBackground(CalendarKey key, CachedCalendar stale) {
+        // One revalidation per user and query at a time; everyone else keeps getting the stale copy
+        if (!revalidating.add(key)) {
+            return;
+        }
+        revalidationExecutor.execute(() -> {
+            try {
+                fetchCalendarEvents(key, stale);
+            } catch (RuntimeException e) {
+                log.warn("Background calendar revalidation failed for {}: {}", key.email(), e.getMessage());
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
 
-            HttpEntity<String> entity = new HttpEntity<>(body, headers);
+    private record CalendarKey(String email, CalendarQuery query) {
+    }
 
-            ResponseEntity<?> response = restTemplate.exchange(
-                "https://oauth2.googleapis.com/token",
-                HttpMethod.POST,
-                entity,
-                Map.class
-            );
+    /**
+     * The part of Google's events response we read; {@code fields} keeps the
+     * rest from being sent at all.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record GoogleEvents(List<CalendarEventDto> items, String nextPageToken) {
+    }
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> responseBody = (Map<String, Object>) response.getBody();
-            if (responseBody == null) {
-                throw new RuntimeException("Empty response from Google token endpoint");
-            }
-            
-            String newAccessToken = (String) responseBody.get("access_token");
-            Integer expiresIn = (Integer) responseBody.get("expires_in");
+    /**
+     * A user's calendar response as last seen from Google, with the ETag to
+     * revalidate it and when it was last confirmed current.
+     */
+    private record CachedCalendar(CalendarEventsPage body, String etag, long validatedAtNanos) {
 
-            // Update user's access token
-            user.setAccessToken(newAccessToken);
-            user.setTokenExpiresAt(LocalDateTime.now().plusSeconds(expiresIn));
-            userService.save(user);
+        boolean isOlderThan(Duration ttl) {
+            return System.nanoTime() - validatedAtNanos > ttl.toNanos();
+        }
 
-            return newAccessToken;
-        } catch (RuntimeException e) {
-            log.error("Error refreshing access token: {}", e.getMessage());
-            throw new RuntimeException("Failed to refresh access token");
+        CachedCalendar revalidated() {
+            return new CachedCalendar(body, etag, System.nanoTime());
         }
     }
 }
@@ -0,0 +1,155 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Refreshes Google tokens of recently active users shortly before they expire,
+ * so interactive calls through {@link GoogleService} find a valid token and
+ * skip the token-endpoint round trip. Users are claimed in batches with
+ * {@code FOR UPDATE SKIP LOCKED} and a short lease, so every node can run this
+ * without two of them refreshing the same user.
+ *
+ * <p>A run is paced and can take a while, so it happens on this class's own
+ * thread rather than the scheduler thread it shares with every other
+ * {@code @Scheduled} task; the schedule only starts a run when none is in
+ * progress.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GoogleTokenRefresher {
+
+    private final UserRepository userRepository;
+    private final GoogleTokenService googleTokenService;
+    private final JwtTokenProvider tokenProvider;
+
+    @Value("${google.token-refresher.enabled:true}")
+    private boolean enabled;
+
+    /** Tokens expiring within this window are refreshed. */
+    @Value("${google.token-refresher.lookahead:10m}")
+    private Duration lookahead;
+
+    /** Only users whose session was issued or rotated within this window count as active. */
+    @Value("${google.token-refresher.active-window:1h}")
+    private Duration activeWindow;
+
+    @Value("${google.token-refresher.batch-size:100}")
+    private int batchSize;
+
+    /** How long a claimed user is left to this node before others may retry it. */
+    @Value("${google.token-refresher.lease:2m}")
+    private Duration lease;
+
+    @Value("${google.token-refresher.concurrency:8}")
+    private int concurrency;
+
+    /** Token-endpoint calls started per second, per node. */
+    @Value("${google.token-refresher.rate:20}")
+    private int ratePerSecond;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("google-token-refresher").factory());
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${google.token-refresher.interval:PT1M}")
+    public void refreshExpiringTokens() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            runner.execute(() -> {
+                try {
+                    refreshUntilDone();
+                } catch (InterruptedException e) {
+                    // Shutting down; claimed users' leases lapse and another node picks them up
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+        }
+    }
+
+    private void refreshUntilDone() throws InterruptedException {
+        int claimed = 0;
+        int refreshed = 0;
+        List<User> batch;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            // Sessions expire a fixed lifetime after their last issue or rotation
+            LocalDateTime sessionExpiresAfter = now
+                    .plus(Duration.ofMillis(tokenProvider.getJwtRefreshExpirationMs()))
+                    .minus(activeWindow);
+            batch = userRepository.claimExpiringTokens(now.plus(lookahead), sessionExpiresAfter,
+                    now.plus(lease), now, batchSize);
+            claimed += batch.size();
+            refreshed += refreshAll(batch);
+        } while (batch.size() == batchSize);
+
+        if (claimed > 0) {
+            log.info("Proactively refreshed {} of {} expiring Google tokens", refreshed, claimed);
+        }
+    }
+
+    private int refreshAll(List<User> users) throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger refreshed = new AtomicInteger();
+        long intervalNanos = 1_000_000_000L / Math.max(1, ratePerSecond);
+        long nextStart = System.nanoTime();
+
+        for (User user : users) {
+            long wait = nextStart - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            nextStart = Math.max(nextStart, System.nanoTime()) + intervalNanos;
+
+            permits.acquire();
+            executor.execute(() -> {
+                try {
+                    googleTokenService.refresh(user);
+                    refreshed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // The lease lapses and the next run, or the user's own request, retries
+                    log.warn("Proactive Google token refresh failed for user {}: {}", user.getId(), e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        // Wait for the batch to finish before claiming the next one
+        permits.acquire(concurrency);
+        return refreshed.get();
+    }
+}
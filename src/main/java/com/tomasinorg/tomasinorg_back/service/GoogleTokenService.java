@@ -0,0 +1,190 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tomasinorg.tomasinorg_back.exception.GoogleUnavailableException;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out usable Google access tokens, refreshing them through Google's
+ * token endpoint when they are within {@code google.token-refresh-margin} of
+ * expiry. Concurrent callers for the same user share a single refresh.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GoogleTokenService {
+
+    private final UserRepository userRepository;
+    private final RestTemplate restTemplate;
+    private final GoogleCallGuard callGuard;
+
+    @Value("${google.oauth2.token-url:https://oauth2.googleapis.com/token}")
+    private String tokenUrl;
+
+    @Value("${spring.security.oauth2.client.registration.google.client-id}")
+    private String clientId;
+
+    @Value("${spring.security.oauth2.client.registration.google.client-secret}")
+    private String clientSecret;
+
+    /** Tokens this close to expiry are refreshed before use. */
+    @Value("${google.token-refresh-margin:5m}")
+    private Duration refreshMargin = Duration.ofMinutes(5);
+
+    private final Map<Long, CompletableFuture<GoogleToken>> inFlight = new ConcurrentHashMap<>();
+
+    // Tokens refreshed by this node, for callers still holding a User loaded before the refresh
+    private Cache<Long, GoogleToken> recentlyRefreshed;
+
+    @PostConstruct
+    void init() {
+        recentlyRefreshed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofHours(1))
+                .build();
+    }
+
+    public String getAccessToken(User user) {
+        if (!needsRefresh(user.getTokenExpiresAt())) {
+            return user.getAccessToken();
+        }
+        return refresh(user).accessToken();
+    }
+
+    /**
+     * Refreshes {@code user}'s token now, or joins a refresh already running for
+     * them, and stores the result.
+     */
+    public GoogleToken refresh(User user) {
+        GoogleToken recent = freshlyRefreshed(user);
+        if (recent != null) {
+            return recent;
+        }
+
+        CompletableFuture<GoogleToken> mine = new CompletableFuture<>();
+        CompletableFuture<GoogleToken> running = inFlight.putIfAbsent(user.getId(), mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw followerFailure(e.getCause());
+            }
+        }
+
+        try {
+            // A leader that finished between our first check and putIfAbsent has
+            // already left its token here
+            GoogleToken token = freshlyRefreshed(user);
+            if (token == null) {
+                token = requestToken(user);
+                userRepository.updateGoogleAccessToken(user.getId(), token.accessToken(), token.expiresAt());
+                recentlyRefreshed.put(user.getId(), token);
+            }
+            user.setAccessToken(token.accessToken());
+            user.setTokenExpiresAt(token.expiresAt());
+            mine.complete(token);
+            return token;
+        } catch (Throwable e) {
+            // Errors too, or callers waiting on this refresh would block forever
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(user.getId(), mine);
+        }
+    }
+
+    private GoogleToken freshlyRefreshed(User user) {
+        GoogleToken recent = recentlyRefreshed.getIfPresent(user.getId());
+        return recent != null && !needsRefresh(recent.expiresAt()) ? recent : null;
+    }
+
+    /**
+     * A new exception for a caller that joined a failed refresh, so the
+     * leader's exception isn't rethrown on other threads. Keeps
+     * {@link GoogleUnavailableException}, which callers map to a 503.
+     */
+    private static RuntimeException followerFailure(Throwable cause) {
+        if (cause instanceof GoogleUnavailableException) {
+            return new GoogleUnavailableException(cause.getMessage(), cause);
+        }
+        return new RuntimeException("Failed to refresh access token", cause);
+    }
+
+    private boolean needsRefresh(LocalDateTime expiresAt) {
+        return expiresAt != null && expiresAt.isBefore(LocalDateTime.now().plus(refreshMargin));
+    }
+
+    private GoogleToken requestToken(User user) {
+        if (user.getGoogleRefreshToken() == null) {
+            throw new RuntimeException("No Google refresh token available");
+        }
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+            MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+            body.add("client_id", clientId);
+            body.add("client_secret", clientSecret);
+            body.add("refresh_token", user.getGoogleRefreshToken());
+            body.add("grant_type", "refresh_token");
+
+            ResponseEntity<GoogleTokenResponse> response = callGuard.call(GoogleCallGuard.TOKEN, () -> restTemplate.exchange(
+                tokenUrl,
+                HttpMethod.POST,
+                new HttpEntity<>(body, headers),
+                GoogleTokenResponse.class
+            ));
+
+            GoogleTokenResponse responseBody = response.getBody();
+            if (responseBody == null || responseBody.accessToken() == null || responseBody.expiresIn() == null) {
+                throw new RuntimeException("Incomplete response from Google token endpoint");
+            }
+
+            return new GoogleToken(responseBody.accessToken(),
+                LocalDateTime.now().plusSeconds(responseBody.expiresIn()));
+        } catch (GoogleUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Error refreshing access token: {}", e.getMessage());
+            throw new RuntimeException("Failed to refresh access token");
+        }
+    }
+
+    public record GoogleToken(String accessToken, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * The part of Google's token endpoint response we read.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record GoogleTokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("expires_in") Long expiresIn) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * {@link UserProfileCache} held in this JVM, bounded in size and age. Other
+ * nodes don't see its evictions, so the TTL bounds how stale a profile edited
+ * elsewhere can be.
+ */
+public class InMemoryUserProfileCache implements UserProfileCache {
+
+    private final Cache<String, Entry> cache;
+
+    public InMemoryUserProfileCache(Duration ttl, long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @Override
+    public Optional<Entry> get(String email) {
+        return Optional.ofNullable(cache.getIfPresent(email));
+    }
+
+    @Override
+    public void put(String email, Entry entry) {
+        cache.put(email, entry);
+    }
+
+    @Override
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+}
@@ -0,0 +1,94 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+import com.tomasinorg.tomasinorg_back.model.RefreshToken;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.RefreshTokenRepository;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import com.tomasinorg.tomasinorg_back.security.TokenDigests;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Server-side record of issued refresh tokens, one row per session, so a user
+ * can be signed in from several devices at once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int MAX_DEVICE_LENGTH = 255;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtTokenProvider tokenProvider;
+
+    @Value("${jwt.refresh-token-purge.batch-size:1000}")
+    private int purgeBatchSize;
+
+    public RefreshToken issue(User user, String refreshToken, String device) {
+        return refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(TokenDigests.sha256(refreshToken))
+                .user(user)
+                .device(truncate(device))
+                .expiresAt(refreshExpiry())
+                .build());
+    }
+
+    /**
+     * Points {@code email}'s session for {@code oldRefreshToken} at
+     * {@code newRefreshToken} with one conditional UPDATE, returning the user's
+     * profile. Empty if the old token is unknown, expired, belongs to someone
+     * else, or was already rotated by a concurrent request.
+     */
+    public Optional<UserDto> rotate(String email, String oldRefreshToken, String newRefreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        return refreshTokenRepository.rotate(email,
+                        TokenDigests.sha256(oldRefreshToken),
+                        TokenDigests.sha256(newRefreshToken),
+                        refreshExpiry(),
+                        now)
+                .map(rotated -> UserDto.builder()
+                        .email(rotated.getEmail())
+                        .name(rotated.getName())
+                        .picture(rotated.getPicture())
+                        .role(rotated.getRole())
+                        .profileVersion(rotated.getProfileVersion())
+                        .build());
+    }
+
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.deleteByTokenHash(TokenDigests.sha256(refreshToken));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-purge.interval:PT10M}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        // Small batches keep each DELETE's locks and WAL short
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (total > 0) {
+            log.info("Purged {} expired refresh tokens", total);
+        }
+    }
+
+    private LocalDateTime refreshExpiry() {
+        return LocalDateTime.now().plus(Duration.ofMillis(tokenProvider.getJwtRefreshExpirationMs()));
+    }
+
+    private static String truncate(String device) {
+        return device != null && device.length() > MAX_DEVICE_LENGTH ? device.substring(0, MAX_DEVICE_LENGTH) : device;
+    }
+}
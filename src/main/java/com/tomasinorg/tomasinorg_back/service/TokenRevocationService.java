@@ -0,0 +1,165 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import com.tomasinorg.tomasinorg_back.model.RevokedToken;
+import com.tomasinorg.tomasinorg_back.repository.RevokedTokenRepository;
+import com.tomasinorg.tomasinorg_back.security.RevocationList;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Cluster-wide access-token revocation. A revocation is stored in
+ * {@code revoked_tokens} and announced with {@code NOTIFY}; every node
+ * {@code LISTEN}s on a dedicated connection and adds it to its
+ * {@link RevocationList}, which the authentication filter checks in memory.
+ * After (re)connecting, a node reloads all unexpired revocations, so none
+ * are missed while it was not listening.
+ *
+ * <p>The listening connection is opened straight from the driver, outside the
+ * application's connection pool, so it doesn't take one of the pool's
+ * connections for the life of the node. On a database other than PostgreSQL
+ * there is nothing to listen to; revocations are then only loaded at startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    static final String CHANNEL = "token_revoked";
+
+    private static final int POLL_TIMEOUT_MS = 1_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationList revocationList;
+    private final JdbcConnectionDetails connectionDetails;
+
+    @Value("${jwt.revocation.listen:true}")
+    private boolean listen = true;
+
+    @Value("${jwt.revocation.reconnect-delay:5s}")
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    private volatile boolean running;
+    private Thread listener;
+
+    @PostConstruct
+    void start() {
+        if (!listen) {
+            reload();
+            return;
+        }
+        if (!connectionDetails.getJdbcUrl().startsWith("jdbc:postgresql:")) {
+            log.warn("Not listening for token revocations: the database is not PostgreSQL, so revocations "
+                    + "made on other nodes will only be picked up after a restart");
+            reload();
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("token-revocation-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Revokes the access token {@code tokenId} on every node until
+     * {@code expiresAt}, when it would have stopped working anyway.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        revokedTokenRepository.revokeAndNotify(tokenId,
+                LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()),
+                CHANNEL,
+                tokenId + ":" + expiresAt.toEpochMilli());
+        // Don't wait for our own notification
+        revocationList.add(tokenId, expiresAt.toEpochMilli());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return revocationList.isRevoked(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:PT5M}")
+    public void purgeExpired() {
+        int purged = revocationList.purgeExpired(System.currentTimeMillis());
+        // Every node runs this; the loser of the race just deletes nothing
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.debug("Dropped {} expired token revocations", purged);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                reload();
+                log.info("Listening for token revocations on {}", CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            accept(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Token revocation listener failed, reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedToken revoked : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            revocationList.add(revoked.getTokenId(),
+                    revoked.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    private void accept(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0) {
+            log.warn("Ignoring malformed token revocation {}", payload);
+            return;
+        }
+        try {
+            revocationList.add(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed token revocation {}", payload);
+        }
+    }
+}
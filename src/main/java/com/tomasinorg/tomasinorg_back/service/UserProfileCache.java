@@ -0,0 +1,26 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+
+import java.util.Optional;
+
+/**
+ * Cache of rendered user profiles keyed by email. The in-process
+ * {@link InMemoryUserProfileCache} is used unless {@code user.profile-cache.type}
+ * selects another implementation, for example one backed by a cache shared
+ * between nodes, defined as a bean under the same condition.
+ */
+public interface UserProfileCache {
+
+    Optional<Entry> get(String email);
+
+    void put(String email, Entry entry);
+
+    void evict(String email);
+
+    /**
+     * A profile together with the strong ETag clients revalidate it with.
+     */
+    record Entry(UserDto profile, String etag) {
+    }
+}
@@ -3,6 +3,8 @@ package com.tomasinorg.tomasinorg_back.service;
 import com.tomasinorg.tomasinorg_back.dto.UserDto;
 import com.tomasinorg.tomasinorg_back.model.User;
 import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.security.JwtPrincipal;
+import com.tomasinorg.tomasinorg_back.security.ProfileClaims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,25 +15,85 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserProfileCache profileCache;
 
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
-    public Optional<User> findByRefreshToken(String refreshToken) {
-        return userRepository.findByRefreshToken(refreshToken);
-    }
-
     public User save(User user) {
         return userRepository.save(user);
     }
 
+    /**
+     * Returns the user's profile and its ETag, reading through the profile
+     * cache so repeated calls don't reach the database.
+     */
+    public Optional<UserProfileCache.Entry> getProfile(String email) {
+        Optional<UserProfileCache.Entry> cached = profileCache.get(email);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        return userRepository.findByEmail(email).map(user -> cacheProfile(convertToDto(user)));
+    }
+
+    /**
+     * The profile of the caller holding {@code principal}'s access token.
+     * Profile versions only go up, so whichever of the token's claims and this
+     * node's cached copy has the higher version is served. A token newer than
+     * the cached copy replaces it. Tokens without profile claims go to the
+     * profile cache or database.
+     *
+     * <p>The database is not read when the claims are served. A profile changed
+     * through another node is seen here once this node caches it or the caller
+     * gets a new token, so a token can be answered with its own, older profile
+     * for up to its lifetime ({@code jwt.expiration}).
+     */
+    public Optional<UserProfileCache.Entry> getProfile(JwtPrincipal principal) {
+        if (!principal.hasProfile()) {
+            return getProfile(principal.subject());
+        }
+
+        Optional<UserProfileCache.Entry> cached = profileCache.get(principal.subject());
+        if (cached.isEmpty()) {
+            UserDto profile = principal.profile();
+            return Optional.of(new UserProfileCache.Entry(profile, etag(profile)));
+        }
+        if (cached.get().profile().getProfileVersion() >= principal.profileVersion()) {
+            return cached;
+        }
+        return Optional.of(cacheProfile(principal.profile()));
+    }
+
+    /**
+     * Stores a profile freshly read from the database or a newer token,
+     * replacing any cached copy.
+     */
+    public UserProfileCache.Entry cacheProfile(UserDto profile) {
+        UserProfileCache.Entry entry = new UserProfileCache.Entry(profile, etag(profile));
+        profileCache.put(profile.getEmail(), entry);
+        return entry;
+    }
+
+    /**
+     * Drops the cached profile; call after changing a user's name, picture or role.
+     */
+    public void evictProfile(String email) {
+        profileCache.evict(email);
+    }
+
     public UserDto convertToDto(User user) {
         return UserDto.builder()
                 .email(user.getEmail())
                 .name(user.getName())
                 .picture(user.getPicture())
                 .role(user.getRole().toString())
+                .profileVersion(user.getProfileVersion())
                 .build();
     }
+
+    private static String etag(UserDto profile) {
+        return "\"" + ProfileClaims.digest(profile) + "\"";
+    }
 }
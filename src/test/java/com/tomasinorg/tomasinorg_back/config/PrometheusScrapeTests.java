@@ -0,0 +1,77 @@
+package com.tomasinorg.tomasinorg_back.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import com.tomasinorg.tomasinorg_back.security.TokenCookies;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * The Prometheus scrape takes its own static credential, not user sessions.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"jwt.secret=scrape-test-secret-scrape-test-secret-scrape-test-secret",
+		"jwt.expiration=60000",
+		"jwt.refresh-expiration=120000",
+		"frontend.url=http://localhost:3000",
+		"app.admin-email=admin@example.com",
+		"spring.security.oauth2.client.registration.google.client-id=test-client",
+		"spring.security.oauth2.client.registration.google.client-secret=test-secret",
+		"google.token-refresher.enabled=false",
+		"metrics.scrape.password={noop}scrape-secret" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Testcontainers(disabledWithoutDocker = true)
+class PrometheusScrapeTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Test
+	void scrapeWithCredentialIsServed() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("jvm_memory_used_bytes")));
+	}
+
+	@Test
+	void scrapeWithWrongOrMissingCredentialIsRejected() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void adminSessionCannotScrape() throws Exception {
+		Cookie accessToken = new Cookie(TokenCookies.ACCESS_TOKEN,
+				tokenProvider.generateToken("admin@example.com", "ADMIN"));
+
+		mockMvc.perform(get("/actuator/prometheus").cookie(accessToken))
+				.andExpect(status().is4xxClientError());
+	}
+}
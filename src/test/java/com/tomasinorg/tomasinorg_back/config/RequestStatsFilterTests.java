@@ -0,0 +1,86 @@
+package com.tomasinorg.tomasinorg_back.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import com.tomasinorg.tomasinorg_back.security.TokenCookies;
+import com.tomasinorg.tomasinorg_back.service.AdminStats;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Only requests the security filter chain lets through reach the stats.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"jwt.secret=stats-test-secret-stats-test-secret-stats-test-secret-st",
+		"jwt.expiration=60000",
+		"jwt.refresh-expiration=120000",
+		"frontend.url=http://localhost:3000",
+		"app.admin-email=admin@example.com",
+		"spring.security.oauth2.client.registration.google.client-id=test-client",
+		"spring.security.oauth2.client.registration.google.client-secret=test-secret",
+		"google.token-refresher.enabled=false" })
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class RequestStatsFilterTests {
+
+	private static final UserDto USER = new UserDto("user@example.com", "Test User",
+			"https://example.com/picture.png", "USER");
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Autowired
+	private AdminStats adminStats;
+
+	@Test
+	void countsRequestsThatPassSecurity() throws Exception {
+		long before = totalRequests();
+
+		mockMvc.perform(get("/api/user/me").cookie(accessToken(USER))).andExpect(status().isOk());
+
+		assertThat(totalRequests()).isEqualTo(before + 1);
+		assertThat(adminStats.activeUsers()).isPositive();
+	}
+
+	@Test
+	void skipsRequestsSecurityRejects() throws Exception {
+		long before = totalRequests();
+
+		// Anonymous callers are sent to the login entry point
+		mockMvc.perform(get("/api/user/me"));
+		mockMvc.perform(get("/api/user/me").cookie(new Cookie(TokenCookies.ACCESS_TOKEN, "not-a-jwt")));
+		mockMvc.perform(get("/api/admin/stats").cookie(accessToken(USER))).andExpect(status().isForbidden());
+
+		assertThat(totalRequests()).isEqualTo(before);
+	}
+
+	private long totalRequests() {
+		return (Long) adminStats.snapshot().get("totalRequests");
+	}
+
+	private Cookie accessToken(UserDto user) {
+		return new Cookie(TokenCookies.ACCESS_TOKEN, tokenProvider.generateToken(user));
+	}
+}
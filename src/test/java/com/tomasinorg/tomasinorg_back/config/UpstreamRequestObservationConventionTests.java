@@ -0,0 +1,51 @@
+package com.tomasinorg.tomasinorg_back.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import io.micrometer.common.KeyValue;
+
+class UpstreamRequestObservationConventionTests {
+
+	private final UpstreamRequestObservationConvention convention = new UpstreamRequestObservationConvention();
+
+	@Test
+	void requestWithoutTemplateIsTaggedWithItsPath() {
+		assertThat(uri("https://www.googleapis.com/calendar/v3/calendars/primary/events?maxResults=10"))
+				.isEqualTo("/calendar/v3/calendars/primary/events");
+	}
+
+	@Test
+	void distinctPathsAreCapped() {
+		for (int i = 0; i < 100; i++) {
+			uri("https://example.com/path/" + i);
+		}
+
+		assertThat(uri("https://example.com/path/0")).isEqualTo("/path/0");
+		assertThat(uri("https://example.com/path/100")).isEqualTo("other");
+	}
+
+	@Test
+	void templateIsUsedWhenPresent() {
+		ClientRequestObservationContext context = context("https://example.com/users/42");
+		context.setUriTemplate("/users/{id}");
+
+		assertThat(convention.getLowCardinalityKeyValues(context)).contains(KeyValue.of("uri", "/users/{id}"));
+	}
+
+	private String uri(String url) {
+		return convention.getLowCardinalityKeyValues(context(url)).stream()
+				.filter(keyValue -> keyValue.getKey().equals("uri"))
+				.findFirst().orElseThrow().getValue();
+	}
+
+	private static ClientRequestObservationContext context(String url) {
+		return new ClientRequestObservationContext(new MockClientHttpRequest(HttpMethod.GET, URI.create(url)));
+	}
+}
@@ -0,0 +1,87 @@
+package com.tomasinorg.tomasinorg_back.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import com.tomasinorg.tomasinorg_back.security.TokenCookies;
+import com.tomasinorg.tomasinorg_back.service.GoogleCalendarStreamer;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * The streaming calendar endpoint through the real security filter chain,
+ * including the ASYNC dispatch that completes a {@code StreamingResponseBody}.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"jwt.secret=stream-test-secret-stream-test-secret-stream-test-secret",
+		"jwt.expiration=60000",
+		"jwt.refresh-expiration=120000",
+		"frontend.url=http://localhost:3000",
+		"app.admin-email=admin@example.com",
+		"spring.security.oauth2.client.registration.google.client-id=test-client",
+		"spring.security.oauth2.client.registration.google.client-secret=test-secret",
+		"google.token-refresher.enabled=false" })
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class GoogleControllerStreamTests {
+
+	private static final String BODY = "{\"items\":[{\"id\":\"event1\"}]}";
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@MockitoBean
+	private GoogleCalendarStreamer calendarStreamer;
+
+	@Test
+	void streamCompletesThroughAsyncDispatch() throws Exception {
+		StreamingResponseBody body = out -> out.write(BODY.getBytes(StandardCharsets.UTF_8));
+		when(calendarStreamer.streamCalendarEvents(eq("user@example.com"), any(), any())).thenReturn(body);
+		Cookie accessToken = new Cookie(TokenCookies.ACCESS_TOKEN, tokenProvider.generateToken("user@example.com", "USER"));
+
+		MvcResult started = mockMvc.perform(get("/api/google/calendar/stream").cookie(accessToken))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().json(BODY));
+	}
+
+	@Test
+	void streamWithoutTokenIsRejectedBeforeStarting() throws Exception {
+		mockMvc.perform(get("/api/google/calendar/stream"))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().is3xxRedirection());
+	}
+}
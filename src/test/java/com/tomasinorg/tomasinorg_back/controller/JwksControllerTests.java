@@ -0,0 +1,59 @@
+package com.tomasinorg.tomasinorg_back.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tomasinorg.tomasinorg_back.security.JwtSigningKey;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+class JwksControllerTests {
+
+	// Private key members of RSA and EC JWKs (RFC 7518 section 6)
+	private static final List<String> PRIVATE_MEMBERS = List.of("d", "p", "q", "dp", "dq", "qi", "oth");
+
+	@Test
+	void publishesOnlyPublicKeysOnePerRetainedKid() {
+		JwtTokenProvider tokenProvider = provider("RS256");
+		tokenProvider.rotateSigningKey(JwtSigningKey.generate(SignatureAlgorithm.ES256));
+		tokenProvider.rotateSigningKey(JwtSigningKey.generate(SignatureAlgorithm.RS256));
+		tokenProvider.rotateSigningKey(JwtSigningKey.generate(SignatureAlgorithm.ES256));
+
+		List<Map<String, Object>> keys = keys(tokenProvider);
+
+		assertThat(keys).extracting(key -> key.get("kid"))
+				.containsExactlyElementsOf(tokenProvider.getKeyRing().keys().stream().map(JwtSigningKey::kid).toList());
+		assertThat(keys).extracting(key -> key.get("kty")).containsExactly("EC", "RSA", "EC");
+		assertThat(keys).allSatisfy(key -> {
+			assertThat(key).doesNotContainKeys(PRIVATE_MEMBERS.toArray(String[]::new));
+			assertThat(key).containsEntry("use", "sig");
+		});
+	}
+
+	@Test
+	void hmacKeysAreNeverPublished() {
+		assertThat(keys(provider("HS256"))).isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> keys(JwtTokenProvider tokenProvider) {
+		Map<String, Object> body = new JwksController(tokenProvider).jwks().getBody();
+		return (List<Map<String, Object>>) body.get("keys");
+	}
+
+	private static JwtTokenProvider provider(String algorithm) {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "jwtSecret", "test-secret-test-secret-test-secret-test-secret");
+		ReflectionTestUtils.setField(provider, "jwtExpirationMs", 60_000L);
+		ReflectionTestUtils.setField(provider, "jwtRefreshExpirationMs", 120_000L);
+		ReflectionTestUtils.setField(provider, "algorithm", algorithm);
+		provider.init();
+		return provider;
+	}
+}
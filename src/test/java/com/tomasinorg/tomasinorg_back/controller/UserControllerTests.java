@@ -0,0 +1,89 @@
+package com.tomasinorg.tomasinorg_back.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import com.tomasinorg.tomasinorg_back.security.TokenCookies;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Conditional requests for the current user's profile.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"jwt.secret=user-test-secret-user-test-secret-user-test-secret-user",
+		"jwt.expiration=60000",
+		"jwt.refresh-expiration=120000",
+		"frontend.url=http://localhost:3000",
+		"app.admin-email=admin@example.com",
+		"spring.security.oauth2.client.registration.google.client-id=test-client",
+		"spring.security.oauth2.client.registration.google.client-secret=test-secret",
+		"google.token-refresher.enabled=false" })
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class UserControllerTests {
+
+	private static final UserDto PROFILE = new UserDto("user@example.com", "Test User",
+			"https://example.com/picture.png", "USER");
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Test
+	void profileCarriesItsETag() throws Exception {
+		mockMvc.perform(get("/api/user/me").cookie(accessToken()))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(jsonPath("$.email").value(PROFILE.getEmail()));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "%s", "W/%s", "\"other\", %s", "*" })
+	void matchingIfNoneMatchIsNotModified(String ifNoneMatch) throws Exception {
+		String etag = mockMvc.perform(get("/api/user/me").cookie(accessToken()))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/user/me").cookie(accessToken())
+						.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch.formatted(etag)))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void staleIfNoneMatchGetsTheProfile() throws Exception {
+		mockMvc.perform(get("/api/user/me").cookie(accessToken()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.email").value(PROFILE.getEmail()));
+	}
+
+	private Cookie accessToken() {
+		return new Cookie(TokenCookies.ACCESS_TOKEN, tokenProvider.generateToken(PROFILE));
+	}
+}
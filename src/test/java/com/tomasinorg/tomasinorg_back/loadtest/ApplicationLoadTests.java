@@ -0,0 +1,268 @@
+package com.tomasinorg.tomasinorg_back.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.security.TokenCookies;
+import com.tomasinorg.tomasinorg_back.support.GoogleApiStub;
+
+/**
+ * End-to-end load test: the whole app on a random port, against PostgreSQL in
+ * a container and {@link GoogleApiStub} in place of Google's OAuth2, userinfo,
+ * token and calendar endpoints. Clients sign in through the real OAuth2 login
+ * flow, then run these scenarios in order:
+ * <ol>
+ * <li>a login burst</li>
+ * <li>{@code /api/user/me} polling</li>
+ * <li>a {@code /auth/refresh} storm, with every user refreshing at once</li>
+ * <li>calendar fetches</li>
+ * <li>a mix of all four</li>
+ * </ol>
+ *
+ * <p>Run with {@code ./mvnw test -Dtest=ApplicationLoadTests -Dloadtest=true}.
+ * Tune it with {@code -Dloadtest.users}, {@code .login-rate}, {@code .rate}
+ * (operations per second), {@code .seconds} (per scenario),
+ * {@code .warmup-seconds} and {@code .google-latency-ms}. Add
+ * {@code -Dspring.profiles.active=virtual-threads} to serve on virtual threads.
+ *
+ * <p>Results are printed and written by {@link LoadReport} under
+ * {@code loadtest.results-dir} (default {@code target/loadtest}), in a
+ * directory named by {@code loadtest.label}. Pass a previous run's
+ * {@code report.json} as {@code -Dloadtest.baseline} to see the difference.
+ *
+ * <p>The embedded database the request asked for is not used. The app's
+ * native queries depend on PostgreSQL-only features: UPDATE ... RETURNING,
+ * ON CONFLICT, SKIP LOCKED and LISTEN/NOTIFY. H2's PostgreSQL mode can't run
+ * them, so this test uses the real database, as the repository tests do.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApplicationLoadTests {
+
+	private static final int USERS = Integer.getInteger("loadtest.users", 500);
+	private static final int LOGIN_RATE = Integer.getInteger("loadtest.login-rate", 100);
+	private static final int RATE = Integer.getInteger("loadtest.rate", 500);
+	private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+	private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+	private static final int GOOGLE_LATENCY_MS = Integer.getInteger("loadtest.google-latency-ms", 50);
+
+	private static final Pattern STATE = Pattern.compile("[?&]state=([^&]+)");
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	// Started before the context, which reads its URLs when it starts
+	static GoogleApiStub google;
+
+	@LocalServerPort
+	private int port;
+
+	private final HttpClient http = HttpClient.newBuilder()
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.followRedirects(HttpClient.Redirect.NEVER)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	/** The current tokens of each signed-in user, by user number. */
+	private final AtomicReferenceArray<Session> sessions = new AtomicReferenceArray<>(USERS);
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+		registry.add("jwt.secret", () -> "load-test-secret-load-test-secret-load-test-secret-load-test");
+		registry.add("jwt.expiration", () -> "900000");
+		registry.add("jwt.refresh-expiration", () -> "604800000");
+		registry.add("frontend.url", () -> "http://localhost:3000");
+		registry.add("app.admin-email", () -> "admin@example.com");
+
+		String registration = "spring.security.oauth2.client.registration.google.";
+		registry.add(registration + "client-id", () -> "load-test-client");
+		registry.add(registration + "client-secret", () -> "load-test-secret");
+		// No openid scope: plain OAuth2 with a userinfo call, no ID token to sign
+		registry.add(registration + "scope", () -> "profile,email");
+		String provider = "spring.security.oauth2.client.provider.google.";
+		registry.add(provider + "authorization-uri", () -> google.url(GoogleApiStub.AUTHORIZE_PATH));
+		registry.add(provider + "token-uri", () -> google.url(GoogleApiStub.TOKEN_PATH));
+		registry.add(provider + "user-info-uri", () -> google.url(GoogleApiStub.USERINFO_PATH));
+		registry.add(provider + "user-name-attribute", () -> "sub");
+
+		registry.add("google.oauth2.token-url", () -> google.url(GoogleApiStub.TOKEN_PATH));
+		registry.add("google.api.calendar-events-url", () -> google.url(GoogleApiStub.EVENTS_PATH));
+	}
+
+	@BeforeAll
+	static void startGoogle() throws IOException {
+		google = GoogleApiStub.start();
+	}
+
+	@AfterAll
+	static void stopGoogle() {
+		google.close();
+	}
+
+	@Test
+	void reportLatencyAndThroughput() throws Exception {
+		google.setLatency(Duration.ofMillis(GOOGLE_LATENCY_MS));
+		google.setEventsBody(eventsBody(25));
+
+		Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("users", USERS);
+		settings.put("loginRate", LOGIN_RATE);
+		settings.put("rate", RATE);
+		settings.put("seconds", SECONDS);
+		settings.put("googleLatencyMs", GOOGLE_LATENCY_MS);
+		settings.put("virtualThreads", System.getProperty("spring.profiles.active", "").contains("virtual-threads"));
+		LoadReport report = new LoadReport(System.getProperty("loadtest.label", "local"),
+				Path.of(System.getProperty("loadtest.results-dir", "target/loadtest")), settings);
+
+		// Sign everyone in once and warm up the JIT before anything is measured
+		LoadResult signIn = LoadDriver.run("sign-in", USERS, LOGIN_RATE, i -> login("user" + i, i));
+		assertThat(signIn.failures()).as("sign-in failures, by outcome: %s", signIn.outcomes()).isZero();
+		LoadDriver.run("warmup", RATE * WARMUP_SECONDS, RATE, this::mixed);
+
+		int operations = RATE * SECONDS;
+		report.add(LoadDriver.run("login-burst", USERS, LOGIN_RATE, i -> login("user" + i, i)));
+		report.add(LoadDriver.run("me-polling", operations, RATE, i -> me(i % USERS)));
+		report.add(LoadDriver.run("refresh-storm", USERS, USERS * 10.0, this::refresh));
+		report.add(LoadDriver.run("calendar", operations, RATE, i -> calendar(i % USERS)));
+		report.add(LoadDriver.run("mixed", operations, RATE, this::mixed));
+
+		Path written = report.write();
+		String baseline = System.getProperty("loadtest.baseline");
+		if (baseline != null) {
+			report.compareWith(Path.of(baseline));
+		}
+		assertThat(written).exists();
+	}
+
+	/** 70% profile reads, 20% calendar fetches, 8% refreshes and 2% new logins. */
+	private int mixed(int index) throws Exception {
+		int user = ThreadLocalRandom.current().nextInt(USERS);
+		int pick = ThreadLocalRandom.current().nextInt(100);
+		if (pick < 70) {
+			return me(user);
+		}
+		if (pick < 90) {
+			return calendar(user);
+		}
+		if (pick < 98) {
+			return refresh(user);
+		}
+		return login("new" + index + "-" + ThreadLocalRandom.current().nextInt(1_000_000), -1);
+	}
+
+	/**
+	 * Signs {@code name} in through the OAuth2 authorization code flow: the
+	 * redirect to Google, then the callback with a code the stub maps back to
+	 * {@code name}. Keeps the issued tokens as user {@code slot}'s session.
+	 */
+	private int login(String name, int slot) throws IOException, InterruptedException {
+		HttpResponse<Void> authorize = http.send(get("/oauth2/authorization/google").build(),
+				HttpResponse.BodyHandlers.discarding());
+		if (authorize.statusCode() != 302) {
+			return authorize.statusCode();
+		}
+		Matcher state = STATE.matcher(authorize.headers().firstValue("Location").orElse(""));
+		if (!state.find()) {
+			throw new IllegalStateException("No state in " + authorize.headers().firstValue("Location"));
+		}
+
+		HttpResponse<Void> callback = http.send(get("/login/oauth2/code/google?code=" + name + "&state=" + state.group(1))
+				.header("Cookie", "JSESSIONID=" + cookie(authorize, "JSESSIONID"))
+				.build(), HttpResponse.BodyHandlers.discarding());
+		String accessToken = cookie(callback, TokenCookies.ACCESS_TOKEN);
+		if (callback.statusCode() != 302 || accessToken == null) {
+			// A login that ends without tokens failed, whatever the status says
+			return callback.statusCode() == 302 ? 401 : callback.statusCode();
+		}
+		if (slot >= 0) {
+			sessions.set(slot, new Session(accessToken, cookie(callback, TokenCookies.REFRESH_TOKEN)));
+		}
+		return callback.statusCode();
+	}
+
+	private int me(int user) throws IOException, InterruptedException {
+		return http.send(get("/api/user/me")
+				.header("Cookie", TokenCookies.ACCESS_TOKEN + "=" + sessions.get(user).accessToken())
+				.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private int calendar(int user) throws IOException, InterruptedException {
+		return http.send(get("/api/google/calendar?maxResults=25")
+				.header("Cookie", TokenCookies.ACCESS_TOKEN + "=" + sessions.get(user).accessToken())
+				.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private int refresh(int user) throws IOException, InterruptedException {
+		HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri("/auth/refresh"))
+				.header("Cookie", TokenCookies.REFRESH_TOKEN + "=" + sessions.get(user).refreshToken())
+				.POST(HttpRequest.BodyPublishers.noBody())
+				.build(), HttpResponse.BodyHandlers.discarding());
+		if (response.statusCode() == 200) {
+			sessions.set(user, new Session(cookie(response, TokenCookies.ACCESS_TOKEN),
+					cookie(response, TokenCookies.REFRESH_TOKEN)));
+		}
+		return response.statusCode();
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(uri(path)).GET();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static String cookie(HttpResponse<?> response, String name) {
+		for (String header : response.headers().allValues("Set-Cookie")) {
+			if (header.startsWith(name + "=")) {
+				int end = header.indexOf(';');
+				return header.substring(name.length() + 1, end >= 0 ? end : header.length());
+			}
+		}
+		return null;
+	}
+
+	private static String eventsBody(int events) {
+		StringBuilder items = new StringBuilder();
+		for (int i = 0; i < events; i++) {
+			items.append(i == 0 ? "" : ",")
+					.append("{\"id\":\"event").append(i).append("\",\"status\":\"confirmed\",\"summary\":\"Meeting ")
+					.append(i).append("\",\"start\":{\"dateTime\":\"2030-01-01T09:00:00Z\"},")
+					.append("\"end\":{\"dateTime\":\"2030-01-01T10:00:00Z\"}}");
+		}
+		return "{\"kind\":\"calendar#events\",\"items\":[" + items + "]}";
+	}
+
+	private record Session(String accessToken, String refreshToken) {
+	}
+}
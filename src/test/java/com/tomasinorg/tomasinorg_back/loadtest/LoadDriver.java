@@ -0,0 +1,84 @@
+package com.tomasinorg.tomasinorg_back.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Issues operations at a fixed arrival rate (an open workload) on virtual
+ * threads and records their latency in an HdrHistogram.
+ *
+ * <p>Latency is measured from when an operation was due to start, not from
+ * when it actually started. A slow server therefore delays the operations
+ * queued behind it and shows up in the high percentiles, instead of quietly
+ * lowering the request rate (coordinated omission).
+ */
+final class LoadDriver {
+
+	/** One operation; returns the HTTP status, or throws if there was none. */
+	@FunctionalInterface
+	interface Operation {
+
+		int run(int index) throws Exception;
+
+	}
+
+	private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toNanos(5);
+
+	private LoadDriver() {
+	}
+
+	/**
+	 * Runs {@code operations} operations at {@code ratePerSecond}, waiting for
+	 * all of them to finish. A status of 400 or above and an exception both
+	 * count as failures; latency is recorded for every operation either way.
+	 */
+	static LoadResult run(String scenario, int operations, double ratePerSecond, Operation operation) {
+		Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+		Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+		LongAdder failures = new LongAdder();
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+
+		long start = System.nanoTime();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < operations; i++) {
+				long due = start + i * intervalNanos;
+				long wait = due - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				int index = i;
+				executor.execute(() -> {
+					String outcome;
+					try {
+						int status = operation.run(index);
+						outcome = Integer.toString(status);
+						if (status >= 400) {
+							failures.increment();
+						}
+					}
+					catch (Exception ex) {
+						outcome = ex.getClass().getSimpleName();
+						failures.increment();
+					}
+					latencies.recordValue(Math.min(System.nanoTime() - due, HIGHEST_TRACKABLE));
+					outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+				});
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		Map<String, Long> counts = new TreeMap<>();
+		outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+		return new LoadResult(scenario, operations, failures.sum(), counts, ratePerSecond, seconds,
+				operations / seconds, latencies);
+	}
+}
@@ -0,0 +1,117 @@
+package com.tomasinorg.tomasinorg_back.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Collects the results of a load test run, prints them as a table and writes
+ * them under {@code <directory>/<label>/}:
+ * <ul>
+ * <li>{@code report.json} has the summary figures, settings and environment.</li>
+ * <li>{@code <scenario>.hgrm} has each scenario's full latency distribution in
+ * HdrHistogram's percentile format, which its plotter can overlay across runs.</li>
+ * </ul>
+ * With a label per commit, two runs can be compared with {@link #compareWith}.
+ */
+final class LoadReport {
+
+	private static final String ROW = "%-16s %8s %8s %10s %9s %9s %9s %9s %9s%n";
+
+	private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+	private final String label;
+	private final Path directory;
+	private final Map<String, Object> settings;
+	private final List<LoadResult> results = new ArrayList<>();
+
+	LoadReport(String label, Path directory, Map<String, Object> settings) {
+		this.label = label;
+		this.directory = directory.resolve(label);
+		this.settings = settings;
+		System.out.printf("Load test %s %s%n", label, settings);
+		System.out.printf(ROW, "scenario", "ops", "failed", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+	}
+
+	void add(LoadResult result) {
+		results.add(result);
+		System.out.printf(ROW, result.scenario(), result.operations(), result.failures(),
+				String.format("%.0f", result.throughput()), millis(result.percentileMillis(50)),
+				millis(result.percentileMillis(90)), millis(result.percentileMillis(99)),
+				millis(result.percentileMillis(99.9)), millis(result.latencies().getMaxValue() / 1e6));
+		if (result.failures() > 0) {
+			System.out.printf("%-16s outcomes %s%n", "", result.outcomes());
+		}
+	}
+
+	/**
+	 * Writes the report files, returning the path of {@code report.json}.
+	 */
+	Path write() throws IOException {
+		Files.createDirectories(directory);
+		Map<String, Object> scenarios = new LinkedHashMap<>();
+		for (LoadResult result : results) {
+			scenarios.put(result.scenario(), result.summary());
+			try (PrintStream out = new PrintStream(
+					Files.newOutputStream(directory.resolve(result.scenario() + ".hgrm")))) {
+				result.latencies().outputPercentileDistribution(out, 1e6);
+			}
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("label", label);
+		report.put("recordedAt", Instant.now().toString());
+		report.put("java", System.getProperty("java.vm.name") + " " + Runtime.version());
+		report.put("processors", Runtime.getRuntime().availableProcessors());
+		report.put("settings", settings);
+		report.put("scenarios", scenarios);
+		Path file = directory.resolve("report.json");
+		objectMapper.writeValue(file.toFile(), report);
+		System.out.printf("Load test report written to %s%n", file);
+		return file;
+	}
+
+	/**
+	 * Prints throughput and p50, p99 and p999 of this run next to those in a
+	 * previous run's {@code report.json}.
+	 */
+	void compareWith(Path baselineReport) throws IOException {
+		JsonNode baseline = objectMapper.readTree(baselineReport.toFile());
+		JsonNode scenarios = baseline.path("scenarios");
+		System.out.printf("Compared with %s (%s)%n", baseline.path("label").asText(), baselineReport);
+		System.out.printf("%-16s %22s %22s %22s %22s%n", "scenario", "ops/s", "p50 ms", "p99 ms", "p999 ms");
+		for (LoadResult result : results) {
+			JsonNode before = scenarios.path(result.scenario());
+			if (before.isMissingNode()) {
+				System.out.printf("%-16s not in baseline%n", result.scenario());
+				continue;
+			}
+			System.out.printf("%-16s %22s %22s %22s %22s%n", result.scenario(),
+					change(before.path("throughput").asDouble(), result.throughput()),
+					change(before.path("p50Ms").asDouble(), result.percentileMillis(50)),
+					change(before.path("p99Ms").asDouble(), result.percentileMillis(99)),
+					change(before.path("p999Ms").asDouble(), result.percentileMillis(99.9)));
+		}
+		if (!baseline.path("settings").equals(objectMapper.valueToTree(settings))) {
+			System.out.printf("Settings differ from the baseline's: %s%n", baseline.path("settings"));
+		}
+	}
+
+	private static String change(double before, double now) {
+		double percent = before == 0 ? 0 : (now - before) / before * 100;
+		return String.format("%s -> %s (%+.0f%%)", millis(before), millis(now), percent);
+	}
+
+	private static String millis(double value) {
+		return value >= 100 ? String.format("%.0f", value) : String.format("%.2f", value);
+	}
+}
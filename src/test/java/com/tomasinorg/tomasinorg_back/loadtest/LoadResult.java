@@ -0,0 +1,35 @@
+package com.tomasinorg.tomasinorg_back.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * The outcome of one {@link LoadDriver} run. Latencies are in nanoseconds in
+ * the histogram and in milliseconds everywhere else.
+ */
+record LoadResult(String scenario, int operations, long failures, Map<String, Long> outcomes,
+		double targetRate, double seconds, double throughput, Histogram latencies) {
+
+	double percentileMillis(double percentile) {
+		return latencies.getValueAtPercentile(percentile) / 1e6;
+	}
+
+	/** The figures written to the report file and compared across runs. */
+	Map<String, Object> summary() {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("operations", operations);
+		summary.put("failures", failures);
+		summary.put("outcomes", outcomes);
+		summary.put("targetRate", targetRate);
+		summary.put("seconds", seconds);
+		summary.put("throughput", throughput);
+		summary.put("p50Ms", percentileMillis(50));
+		summary.put("p90Ms", percentileMillis(90));
+		summary.put("p99Ms", percentileMillis(99));
+		summary.put("p999Ms", percentileMillis(99.9));
+		summary.put("maxMs", latencies.getMaxValue() / 1e6);
+		return summary;
+	}
+}
@@ -0,0 +1,136 @@
+package com.tomasinorg.tomasinorg_back.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.model.RefreshToken;
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.RefreshTokenRepository.RotatedSession;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+// Each rotation must run and commit in its own transaction, as it does in production
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenRepositoryTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@AfterEach
+	void cleanUp() {
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void rotateReturnsProfileAndReplacesHash() {
+		User user = saveUser("user@example.com");
+		saveSession(user, "old");
+
+		Optional<RotatedSession> rotated = refreshTokenRepository.rotate("user@example.com", "old", "new",
+				LocalDateTime.now().plusDays(1), LocalDateTime.now());
+
+		assertThat(rotated).isPresent();
+		assertThat(rotated.get().getEmail()).isEqualTo("user@example.com");
+		assertThat(rotated.get().getRole()).isEqualTo("USER");
+		assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getTokenHash).containsExactly("new");
+	}
+
+	@Test
+	void rotateRejectsExpiredOrForeignSessions() {
+		User user = saveUser("user@example.com");
+		saveUser("other@example.com");
+		RefreshToken session = saveSession(user, "old");
+
+		assertThat(refreshTokenRepository.rotate("other@example.com", "old", "new",
+				LocalDateTime.now().plusDays(1), LocalDateTime.now())).isEmpty();
+
+		session.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+		refreshTokenRepository.save(session);
+		assertThat(refreshTokenRepository.rotate("user@example.com", "old", "new",
+				LocalDateTime.now().plusDays(1), LocalDateTime.now())).isEmpty();
+	}
+
+	@Test
+	void concurrentRotationsOfTheSameTokenHaveExactlyOneWinner() throws Exception {
+		User user = saveUser("user@example.com");
+		saveSession(user, "old");
+
+		int callers = 32;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<Optional<RotatedSession>>> results = new ArrayList<>();
+			for (int i = 0; i < callers; i++) {
+				String newHash = "new-" + i;
+				results.add(executor.submit(() -> {
+					start.await();
+					return refreshTokenRepository.rotate("user@example.com", "old", newHash,
+							LocalDateTime.now().plusDays(1), LocalDateTime.now());
+				}));
+			}
+			start.countDown();
+
+			int winners = 0;
+			for (Future<Optional<RotatedSession>> result : results) {
+				if (result.get().isPresent()) {
+					winners++;
+				}
+			}
+			assertThat(winners).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(refreshTokenRepository.findAll()).singleElement()
+				.extracting(RefreshToken::getTokenHash).asString().startsWith("new-");
+	}
+
+	private User saveUser(String email) {
+		return userRepository.save(User.builder()
+				.email(email)
+				.name("Test User")
+				.googleId("google-" + email)
+				.role(Role.USER)
+				.build());
+	}
+
+	private RefreshToken saveSession(User user, String tokenHash) {
+		return refreshTokenRepository.save(RefreshToken.builder()
+				.tokenHash(tokenHash)
+				.user(user)
+				.device("test")
+				.expiresAt(LocalDateTime.now().plusDays(1))
+				.build());
+	}
+}
@@ -0,0 +1,140 @@
+package com.tomasinorg.tomasinorg_back.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.model.RefreshToken;
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+// Each claim must run and commit in its own transaction, as it does in production
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@AfterEach
+	void cleanUp() {
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void claimsOnlyActiveUsersWithExpiringTokens() {
+		User expiring = saveUser("expiring@example.com", LocalDateTime.now().plusMinutes(3), true);
+		saveUser("fresh@example.com", LocalDateTime.now().plusMinutes(50), true);
+		saveUser("inactive@example.com", LocalDateTime.now().plusMinutes(3), false);
+
+		List<User> claimed = claim(10);
+
+		assertThat(claimed).extracting(User::getId).containsExactly(expiring.getId());
+		assertThat(claimed.get(0).getTokenRefreshLeaseUntil()).isAfter(LocalDateTime.now());
+		assertThat(claim(10)).as("leased users are not claimed again").isEmpty();
+	}
+
+	@Test
+	void concurrentClaimsNeverOverlap() throws Exception {
+		int users = 40;
+		for (int i = 0; i < users; i++) {
+			saveUser("user" + i + "@example.com", LocalDateTime.now().plusMinutes(1), true);
+		}
+
+		int nodes = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(nodes);
+		List<Long> claimedIds = new ArrayList<>();
+		try {
+			List<Future<List<User>>> results = new ArrayList<>();
+			for (int i = 0; i < nodes; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return claim(10);
+				}));
+			}
+			start.countDown();
+			for (Future<List<User>> result : results) {
+				result.get().forEach(user -> claimedIds.add(user.getId()));
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		Set<Long> distinct = new HashSet<>(claimedIds);
+		assertThat(distinct).hasSameSizeAs(claimedIds).hasSize(users);
+	}
+
+	@Test
+	void upsertBumpsProfileVersionOnlyWhenProfileChanges() {
+		User created = upsert("Test User");
+		User unchanged = upsert("Test User");
+		User renamed = upsert("Renamed User");
+
+		assertThat(created.getProfileVersion()).isZero();
+		assertThat(unchanged.getProfileVersion()).isZero();
+		assertThat(renamed.getProfileVersion()).isEqualTo(1);
+	}
+
+	private User upsert(String name) {
+		return userRepository.upsertGoogleUser("upsert@example.com", name, null, "google-upsert", Role.USER.name(),
+				"google-access", null, LocalDateTime.now().plusHours(1), LocalDateTime.now());
+	}
+
+	private List<User> claim(int batchSize) {
+		LocalDateTime now = LocalDateTime.now();
+		return userRepository.claimExpiringTokens(now.plusMinutes(10), now.plusDays(6),
+				now.plusMinutes(2), now, batchSize);
+	}
+
+	private User saveUser(String email, LocalDateTime tokenExpiresAt, boolean active) {
+		User user = userRepository.save(User.builder()
+				.email(email)
+				.name("Test User")
+				.googleId("google-" + email)
+				.role(Role.USER)
+				.accessToken("google-access")
+				.googleRefreshToken("google-refresh")
+				.tokenExpiresAt(tokenExpiresAt)
+				.build());
+		refreshTokenRepository.save(RefreshToken.builder()
+				.tokenHash("hash-" + email)
+				.user(user)
+				.device("test")
+				// A session rotated just now expires a full lifetime away
+				.expiresAt(active ? LocalDateTime.now().plusDays(7) : LocalDateTime.now().plusDays(1))
+				.build());
+		return user;
+	}
+}
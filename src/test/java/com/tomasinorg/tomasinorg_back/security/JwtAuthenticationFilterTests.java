@@ -0,0 +1,134 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+class JwtAuthenticationFilterTests {
+
+	private JwtTokenProvider tokenProvider;
+	private JwtAuthenticationFilter filter;
+	private RevocationList revocationList;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "test-secret-test-secret-test-secret-test-secret");
+		ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 60_000L);
+		ReflectionTestUtils.setField(tokenProvider, "jwtRefreshExpirationMs", 120_000L);
+		tokenProvider.init();
+
+		filter = new JwtAuthenticationFilter();
+		ReflectionTestUtils.setField(filter, "tokenCache", new VerifiedTokenCache(tokenProvider, false, 0));
+		ReflectionTestUtils.setField(filter, "publicPaths", new PublicPaths(new String[0]));
+		ReflectionTestUtils.setField(filter, "failureMetrics", new TokenFailureMetrics(Duration.ofMinutes(1)));
+		revocationList = new RevocationList(1_000, 0.01);
+		ReflectionTestUtils.setField(filter, "revocationList", revocationList);
+		meterRegistry = new SimpleMeterRegistry();
+		ReflectionTestUtils.setField(filter, "authMetrics", new AuthMetrics(meterRegistry));
+		ReflectionTestUtils.setField(filter, "skipPublicPaths", true);
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void protectedRouteIsAuthenticatedFromAccessTokenCookie() throws Exception {
+		Authentication authentication = filter(request("/api/user/me", tokenProvider.generateToken("user@example.com", "USER")));
+
+		assertThat(authentication).isNotNull();
+		assertThat(authentication.getName()).isEqualTo("user@example.com");
+		assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+	}
+
+	@Test
+	void protectedRouteWithoutTokenStaysAnonymous() throws Exception {
+		assertThat(filter(request("/api/user/me", null))).isNull();
+	}
+
+	@Test
+	void protectedRouteWithTamperedTokenStaysAnonymous() throws Exception {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+
+		assertThat(filter(request("/api/admin/stats", token + "x"))).isNull();
+	}
+
+	@Test
+	void revokedTokenStaysAnonymous() throws Exception {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+		JwtPrincipal principal = tokenProvider.verify(token).principal();
+		revocationList.add(principal.tokenId(), principal.expiresAt().toEpochMilli());
+
+		assertThat(filter(request("/api/user/me", token))).isNull();
+	}
+
+	@Test
+	void outcomesAreTimed() throws Exception {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+
+		filter(request("/api/user/me", token));
+		filter(request("/api/user/me", token + "x"));
+		filter(request("/api/user/me", null));
+
+		assertThat(filterCount("authenticated")).isEqualTo(1);
+		assertThat(filterCount("rejected")).isEqualTo(1);
+		assertThat(filterCount("no_token")).isEqualTo(1);
+		assertThat(filterCount("revoked")).isZero();
+	}
+
+	@Test
+	void publicRoutesSkipTokenProcessing() throws Exception {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+
+		for (String path : new String[] { "/api/public/health", "/oauth2/authorization/google", "/auth/refresh", "/static/app.js" }) {
+			MockHttpServletRequest request = request(path, token);
+			assertThat(filter.shouldNotFilter(request)).as(path).isTrue();
+			assertThat(filter(request)).as(path).isNull();
+		}
+	}
+
+	@Test
+	void publicRoutesAreFilteredWhenSkippingIsDisabled() throws Exception {
+		ReflectionTestUtils.setField(filter, "skipPublicPaths", false);
+
+		Authentication authentication = filter(request("/api/public/health", tokenProvider.generateToken("user@example.com", "USER")));
+
+		assertThat(authentication).isNotNull();
+	}
+
+	private MockHttpServletRequest request(String path, String accessToken) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		if (accessToken != null) {
+			request.setCookies(new Cookie("theme", "dark"), new Cookie(TokenCookies.ACCESS_TOKEN, accessToken));
+		}
+		return request;
+	}
+
+	private long filterCount(String outcome) {
+		return meterRegistry.get("auth.filter").tag("outcome", outcome).timer().count();
+	}
+
+	private Authentication filter(MockHttpServletRequest request) throws Exception {
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+		FilterChain chain = (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication());
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+		return seen.get();
+	}
+}
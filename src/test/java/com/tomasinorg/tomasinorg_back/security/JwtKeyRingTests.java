@@ -0,0 +1,134 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Key rotation and the key ring through {@link JwtTokenProvider}.
+ */
+class JwtKeyRingTests {
+
+	private static final String SECRET = "test-secret-test-secret-test-secret-test-secret";
+
+	private JwtTokenProvider tokenProvider;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = provider("HS256");
+		tokenProvider.init();
+	}
+
+	@Test
+	void tokenFromRetainedKeyVerifiesAfterRotation() {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+
+		tokenProvider.rotateSigningKey(SECRET + "-2");
+		tokenProvider.rotateSigningKey(SECRET + "-3");
+
+		assertThat(tokenProvider.verify(token).isValid()).isTrue();
+		assertThat(tokenProvider.getKeyRing().keys()).hasSize(3);
+	}
+
+	@Test
+	void tokenFromKeyPastRetentionIsRejected() {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+
+		tokenProvider.rotateSigningKey(SECRET + "-2");
+		tokenProvider.rotateSigningKey(SECRET + "-3");
+		tokenProvider.rotateSigningKey(SECRET + "-4");
+
+		assertThat(tokenProvider.verify(token).failure()).isEqualTo(TokenVerification.Failure.BAD_SIGNATURE);
+	}
+
+	@Test
+	void unknownKidIsRejected() {
+		JwtSigningKey active = tokenProvider.getKeyRing().active();
+		String token = Jwts.builder()
+				.setHeaderParam("kid", "unknown")
+				.setSubject("user@example.com")
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(active.signingKey(), active.algorithm())
+				.compact();
+
+		assertThat(tokenProvider.verify(token).failure()).isEqualTo(TokenVerification.Failure.BAD_SIGNATURE);
+	}
+
+	@Test
+	void missingKidIsRejected() {
+		JwtSigningKey active = tokenProvider.getKeyRing().active();
+		String token = Jwts.builder()
+				.setSubject("user@example.com")
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(active.signingKey(), active.algorithm())
+				.compact();
+
+		assertThat(tokenProvider.verify(token).failure()).isEqualTo(TokenVerification.Failure.BAD_SIGNATURE);
+	}
+
+	@Test
+	void kidSignedWithAnotherAlgorithmIsRejected() {
+		JwtSigningKey active = tokenProvider.getKeyRing().active();
+		String token = Jwts.builder()
+				.setHeaderParam("kid", active.kid())
+				.setSubject("user@example.com")
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(Keys.hmacShaKeyFor(SECRET.repeat(2).getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+				.compact();
+
+		assertThat(tokenProvider.verify(token).failure()).isEqualTo(TokenVerification.Failure.BAD_SIGNATURE);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "RS256", "ES256" })
+	void asymmetricKeysRoundTripFromPem(String algorithm, @TempDir Path dir) throws Exception {
+		KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.forName(algorithm));
+		Path privateKey = Files.writeString(dir.resolve("private.pem"), pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+		Path publicKey = Files.writeString(dir.resolve("public.pem"), pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+
+		JwtTokenProvider signer = provider(algorithm);
+		ReflectionTestUtils.setField(signer, "privateKeyLocation", privateKey.toUri().toString());
+		ReflectionTestUtils.setField(signer, "publicKeyLocation", publicKey.toUri().toString());
+		signer.init();
+		JwtTokenProvider otherNode = provider(algorithm);
+		ReflectionTestUtils.setField(otherNode, "privateKeyLocation", privateKey.toUri().toString());
+		ReflectionTestUtils.setField(otherNode, "publicKeyLocation", publicKey.toUri().toString());
+		otherNode.init();
+
+		String token = signer.generateToken("user@example.com", "USER");
+
+		assertThat(signer.getKeyRing().active().algorithm().getValue()).isEqualTo(algorithm);
+		assertThat(otherNode.getKeyRing().active().kid()).isEqualTo(signer.getKeyRing().active().kid());
+		assertThat(otherNode.verify(token).principal().subject()).isEqualTo("user@example.com");
+	}
+
+	private static JwtTokenProvider provider(String algorithm) {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(provider, "jwtExpirationMs", 60_000L);
+		ReflectionTestUtils.setField(provider, "jwtRefreshExpirationMs", 120_000L);
+		ReflectionTestUtils.setField(provider, "algorithm", algorithm);
+		return provider;
+	}
+
+	private static String pem(String type, byte[] der) {
+		return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder().encodeToString(der)
+				+ "\n-----END " + type + "-----\n";
+	}
+}
@@ -0,0 +1,144 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.config.CacheConfig;
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.service.RefreshTokenService;
+import com.tomasinorg.tomasinorg_back.service.UserService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the number of SQL statements one Google login costs: the user upsert
+ * and the new session row, nothing else.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"app.admin-email=admin@example.com",
+		"frontend.url=http://localhost:3000",
+		"jwt.secret=test-secret-test-secret-test-secret-test-secret",
+		"jwt.expiration=60000",
+		"jwt.refresh-expiration=120000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ CustomOAuth2UserService.class, OAuth2AuthenticationSuccessHandler.class, UserService.class,
+		RefreshTokenService.class, JwtTokenProvider.class, CacheConfig.class, AuthMetrics.class,
+		SimpleMeterRegistry.class })
+class OAuth2LoginPersistenceTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private CustomOAuth2UserService oauth2UserService;
+
+	@Autowired
+	private OAuth2AuthenticationSuccessHandler successHandler;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void firstLoginCostsTwoStatements() throws Exception {
+		assertThat(statementsForLogin("Ada", "refresh-1")).isEqualTo(2);
+
+		User user = userRepository.findByGoogleId("google-1").orElseThrow();
+		assertThat(user.getRole()).isEqualTo(Role.USER);
+		assertThat(user.getGoogleRefreshToken()).isEqualTo("refresh-1");
+	}
+
+	@Test
+	void repeatLoginCostsTwoStatementsAndKeepsGoogleRefreshToken() throws Exception {
+		statementsForLogin("Ada", "refresh-1");
+
+		assertThat(statementsForLogin("Ada Lovelace", null)).isEqualTo(2);
+
+		entityManager.clear();
+		User user = userRepository.findByGoogleId("google-1").orElseThrow();
+		assertThat(user.getName()).isEqualTo("Ada Lovelace");
+		assertThat(user.getGoogleRefreshToken()).isEqualTo("refresh-1");
+	}
+
+	private long statementsForLogin(String name, String googleRefreshToken) throws Exception {
+		// Each login runs in a fresh persistence context in production
+		entityManager.clear();
+		statistics.clear();
+
+		User user = oauth2UserService.processOAuth2User(userRequest(googleRefreshToken), googleUser(name));
+		OAuth2User loggedIn = new GoogleOAuth2User(googleUser(name), user);
+		successHandler.onAuthenticationSuccess(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				new OAuth2AuthenticationToken(loggedIn, loggedIn.getAuthorities(), "google"));
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private static OAuth2UserRequest userRequest(String googleRefreshToken) {
+		ClientRegistration registration = ClientRegistration.withRegistrationId("google")
+				.clientId("client")
+				.authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+				.redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+				.authorizationUri("https://accounts.example.com/auth")
+				.tokenUri("https://accounts.example.com/token")
+				.build();
+		OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "google-access",
+				Instant.now(), Instant.now().plusSeconds(3600));
+		Map<String, Object> additional = googleRefreshToken != null
+				? Map.of("refresh_token", googleRefreshToken)
+				: Map.of();
+		return new OAuth2UserRequest(registration, accessToken, additional);
+	}
+
+	private static OAuth2User googleUser(String name) {
+		return new DefaultOAuth2User(List.of(new SimpleGrantedAuthority("OAUTH2_USER")),
+				Map.of("sub", "google-1", "email", "ada@example.com", "name", name, "picture", "https://example.com/ada.png"),
+				"sub");
+	}
+}
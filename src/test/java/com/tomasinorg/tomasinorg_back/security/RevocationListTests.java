@@ -0,0 +1,57 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class RevocationListTests {
+
+	@Test
+	void revokedIdsAreFoundAndOthersAreNot() {
+		RevocationList list = new RevocationList(10_000, 0.01);
+		String[] revoked = new String[10_000];
+		for (int i = 0; i < revoked.length; i++) {
+			revoked[i] = UUID.randomUUID().toString();
+			list.add(revoked[i], Long.MAX_VALUE);
+		}
+
+		for (String tokenId : revoked) {
+			assertThat(list.isRevoked(tokenId)).isTrue();
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(list.isRevoked(UUID.randomUUID().toString())).isFalse();
+		}
+		assertThat(list.isRevoked(null)).isFalse();
+	}
+
+	@Test
+	void bloomFilterFalsePositiveRateIsNearTarget() {
+		RevocationList.BloomFilter bloom = new RevocationList.BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			bloom.add(UUID.randomUUID().toString());
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (bloom.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(2_000);
+	}
+
+	@Test
+	void expiredRevocationsArePurged() {
+		RevocationList list = new RevocationList(1_000, 0.01);
+		list.add("expired", 1_000);
+		list.add("live", 3_000);
+
+		assertThat(list.purgeExpired(2_000)).isEqualTo(1);
+
+		assertThat(list.isRevoked("expired")).isFalse();
+		assertThat(list.isRevoked("live")).isTrue();
+		assertThat(list.size()).isEqualTo(1);
+	}
+}
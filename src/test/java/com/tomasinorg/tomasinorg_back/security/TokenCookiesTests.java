@@ -0,0 +1,66 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class TokenCookiesTests {
+
+	private static final String NAME = TokenCookies.ACCESS_TOKEN;
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"accessToken=abc",
+			"accessToken=abc; theme=dark; lang=en",
+			"theme=dark; accessToken=abc; lang=en",
+			"theme=dark; lang=en; accessToken=abc",
+			"theme=dark;accessToken=abc;lang=en",
+			"  theme=dark  ;   accessToken=abc   ;\tlang=en",
+			"theme=dark; accessToken=\"abc\"" })
+	void findsTheCookieWherever(String header) {
+		assertThat(TokenCookies.findInHeader(header, NAME)).isEqualTo("abc");
+	}
+
+	@Test
+	void nameAsSuffixOfAnotherCookieDoesNotMatch() {
+		assertThat(TokenCookies.findInHeader("xaccessToken=wrong; accessToken=abc", NAME)).isEqualTo("abc");
+		assertThat(TokenCookies.findInHeader("xaccessToken=wrong", NAME)).isNull();
+	}
+
+	@Test
+	void nameAsPrefixOfAnotherCookieDoesNotMatch() {
+		assertThat(TokenCookies.findInHeader("accessTokenOld=wrong", NAME)).isNull();
+	}
+
+	@Test
+	void emptyValueIsEmpty() {
+		assertThat(TokenCookies.findInHeader("theme=dark; accessToken=; lang=en", NAME)).isEmpty();
+		assertThat(TokenCookies.findInHeader("accessToken=\"\"", NAME)).isEmpty();
+	}
+
+	@Test
+	void firstOfDuplicateNamesWins() {
+		assertThat(TokenCookies.findInHeader("accessToken=first; accessToken=second", NAME)).isEqualTo("first");
+	}
+
+	@Test
+	void missingCookieOrHeaderIsNull() {
+		assertThat(TokenCookies.findInHeader("theme=dark; lang=en", NAME)).isNull();
+		assertThat(TokenCookies.findInHeader("", NAME)).isNull();
+		assertThat(TokenCookies.findInHeader(null, NAME)).isNull();
+		assertThat(TokenCookies.find(new MockHttpServletRequest(), NAME)).isNull();
+	}
+
+	@Test
+	void searchesEveryCookieHeader() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Cookie", "theme=dark");
+		request.addHeader("Cookie", "accessToken=abc; refreshToken=def");
+
+		assertThat(TokenCookies.find(request, NAME)).isEqualTo("abc");
+		assertThat(TokenCookies.find(request, TokenCookies.REFRESH_TOKEN)).isEqualTo("def");
+	}
+}
@@ -0,0 +1,115 @@
+package com.tomasinorg.tomasinorg_back.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tomasinorg.tomasinorg_back.controller.AuthController;
+import com.tomasinorg.tomasinorg_back.service.RefreshTokenService;
+import com.tomasinorg.tomasinorg_back.service.TokenRevocationService;
+import com.tomasinorg.tomasinorg_back.service.UserService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+class VerifiedTokenCacheTests {
+
+	private JwtTokenProvider tokenProvider;
+	private VerifiedTokenCache cache;
+
+	@BeforeEach
+	void setUp() {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "jwtSecret", "test-secret-test-secret-test-secret-test-secret");
+		ReflectionTestUtils.setField(provider, "jwtExpirationMs", 60_000L);
+		ReflectionTestUtils.setField(provider, "jwtRefreshExpirationMs", 120_000L);
+		provider.init();
+		tokenProvider = spy(provider);
+		cache = new VerifiedTokenCache(tokenProvider, true, 100);
+	}
+
+	@Test
+	void repeatedTokenIsVerifiedOnce() {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+
+		assertThat(cache.verify(token).isValid()).isTrue();
+		assertThat(cache.verify(token).principal().subject()).isEqualTo("user@example.com");
+
+		verify(tokenProvider, times(1)).verify(token);
+	}
+
+	@Test
+	void entryExpiresWithTheToken() throws Exception {
+		ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 1_500L);
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+		assertThat(cache.verify(token).isValid()).isTrue();
+
+		// exp has second precision, so the token expires within 1.5s
+		Thread.sleep(1_600);
+
+		assertThat(cache.verify(token).failure()).isEqualTo(TokenVerification.Failure.EXPIRED);
+		verify(tokenProvider, times(2)).verify(token);
+	}
+
+	@Test
+	void failedVerificationsAreNotCached() {
+		String token = tokenProvider.generateToken("user@example.com", "USER") + "x";
+
+		assertThat(cache.verify(token).isValid()).isFalse();
+		assertThat(cache.verify(token).isValid()).isFalse();
+
+		verify(tokenProvider, times(2)).verify(token);
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void logoutEvictsTheEntry() {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+		cache.verify(token);
+		AuthController authController = new AuthController(mock(RefreshTokenService.class), mock(UserService.class),
+				tokenProvider, cache, new TokenFailureMetrics(Duration.ofMinutes(1)),
+				mock(TokenRevocationService.class), new AuthMetrics(new SimpleMeterRegistry()));
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/logout");
+		request.setCookies(new Cookie(TokenCookies.ACCESS_TOKEN, token));
+
+		authController.logout(request, new MockHttpServletResponse());
+		cache.verify(token);
+
+		verify(tokenProvider, times(2)).verify(token);
+	}
+
+	@Test
+	void signingKeyRotationClearsTheCache() {
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+		cache.verify(token);
+
+		cache.onSigningKeyRotated(new SigningKeyRotatedEvent());
+
+		assertThat(cache.size()).isZero();
+		cache.verify(token);
+		verify(tokenProvider, times(2)).verify(token);
+	}
+
+	@Test
+	void disabledCacheVerifiesEveryTime() {
+		VerifiedTokenCache disabled = new VerifiedTokenCache(tokenProvider, false, 100);
+		String token = tokenProvider.generateToken("user@example.com", "USER");
+
+		disabled.verify(token);
+		disabled.verify(token);
+		disabled.verify(token);
+
+		assertThat(disabled.isEnabled()).isFalse();
+		verify(tokenProvider, times(3)).verify(token);
+	}
+}
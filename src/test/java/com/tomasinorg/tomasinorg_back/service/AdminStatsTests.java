@@ -0,0 +1,132 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tomasinorg.tomasinorg_back.config.SchedulingConfig;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+
+class AdminStatsTests {
+
+	private static final int ACTIVE_BUCKETS = 3;
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+
+	private final AdminStats stats = stats(ACTIVE_BUCKETS, Duration.ofHours(1));
+
+	@Test
+	void userStaysActiveForTheWholeWindow() {
+		stats.recordActiveUser("a@example.com");
+
+		for (int i = 0; i < ACTIVE_BUCKETS - 1; i++) {
+			stats.rotateActiveUsers();
+			assertThat(stats.activeUsers()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void oldestBucketIsDroppedAfterActiveBucketsIntervals() {
+		stats.recordActiveUser("a@example.com");
+		stats.rotateActiveUsers();
+		stats.recordActiveUser("b@example.com");
+
+		for (int i = 0; i < ACTIVE_BUCKETS - 1; i++) {
+			stats.rotateActiveUsers();
+		}
+
+		assertThat(stats.activeUsers()).isEqualTo(1);
+		stats.rotateActiveUsers();
+		assertThat(stats.activeUsers()).isZero();
+	}
+
+	@Test
+	void countsRecordedRequests() {
+		for (int i = 0; i < 5; i++) {
+			stats.recordRequest();
+		}
+
+		assertThat(stats.snapshot()).containsEntry("totalRequests", 5L);
+	}
+
+	@Test
+	void refreshAdvancesUsersCountedAt() throws Exception {
+		when(userRepository.count()).thenReturn(3L, 5L);
+
+		stats.refreshUserCount();
+		Map<String, Object> first = stats.snapshot();
+		Thread.sleep(5);
+		stats.refreshUserCount();
+		Map<String, Object> second = stats.snapshot();
+
+		assertThat(first).containsEntry("totalUsers", 3L);
+		assertThat(second).containsEntry("totalUsers", 5L);
+		assertThat((Instant) second.get("usersCountedAt")).isAfter((Instant) first.get("usersCountedAt"));
+	}
+
+	@Test
+	void readsNeverTouchTheRepository() {
+		when(userRepository.count()).thenReturn(3L);
+		stats.refreshUserCount();
+		clearInvocations(userRepository);
+
+		for (int i = 0; i < 10; i++) {
+			stats.snapshot();
+			stats.activeUsers();
+		}
+
+		verifyNoInteractions(userRepository);
+	}
+
+	private AdminStats stats(int activeBuckets, Duration bucketInterval) {
+		AdminStats stats = new AdminStats(userRepository);
+		ReflectionTestUtils.setField(stats, "activeBuckets", activeBuckets);
+		ReflectionTestUtils.setField(stats, "bucketInterval", bucketInterval);
+		stats.init();
+		return stats;
+	}
+
+	@Nested
+	// A Boot context for its Duration conversion, without auto-configuration
+	@SpringBootTest(classes = { AdminStats.class, SchedulingConfig.class }, properties = {
+			"admin.stats.bucket-interval=PT0.2S",
+			"admin.stats.active-buckets=2",
+			"admin.stats.user-count-interval=PT1H" })
+	class Scheduled {
+
+		private static final Duration INTERVAL = Duration.ofMillis(200);
+
+		@MockitoBean
+		private UserRepository userRepository;
+
+		@Autowired
+		private AdminStats stats;
+
+		@Test
+		void bucketsRotateAfterBucketInterval() throws Exception {
+			stats.recordActiveUser("a@example.com");
+			long recorded = System.nanoTime();
+
+			while (stats.activeUsers() > 0) {
+				assertThat(Duration.ofNanos(System.nanoTime() - recorded)).isLessThan(Duration.ofSeconds(10));
+				Thread.sleep(10);
+			}
+
+			// Recorded somewhere in the current bucket, so dropped one to two intervals later
+			assertThat(Duration.ofNanos(System.nanoTime() - recorded)).isGreaterThanOrEqualTo(INTERVAL);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+class CalendarQueryTests {
+
+	@Test
+	void cursorCarriesFiltersAndPageToken() {
+		CalendarQuery query = CalendarQuery.of(Instant.parse("2024-03-01T00:00:00Z"),
+				Instant.parse("2024-03-08T00:00:00Z"), 20, "summary, start,end");
+
+		CalendarQuery next = CalendarQuery.fromCursor(query.nextCursor("page+2/=="));
+
+		assertThat(next).isEqualTo(new CalendarQuery(query.timeMin(), query.timeMax(), 20, query.fields(), "page+2/=="));
+	}
+
+	@Test
+	void fieldsBecomeGooglePartialResponseMask() {
+		assertThat(CalendarQuery.of(null, null, null, "summary,start").googleFields())
+				.isEqualTo("nextPageToken,items(id,summary,start)");
+		assertThat(CalendarQuery.defaults().googleFields())
+				.isEqualTo("nextPageToken,items(id,status,summary,description,location,htmlLink,start,end)");
+	}
+
+	@Test
+	void rejectsInvalidInput() {
+		assertThatIllegalArgumentException().isThrownBy(() -> CalendarQuery.of(null, null, null, "attendees"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CalendarQuery.of(null, null, 1000, null));
+		assertThatIllegalArgumentException().isThrownBy(() -> CalendarQuery.of(
+				Instant.parse("2024-03-08T00:00:00Z"), Instant.parse("2024-03-01T00:00:00Z"), null, null));
+		assertThatIllegalArgumentException().isThrownBy(() -> CalendarQuery.fromCursor("not-a-cursor"));
+	}
+}
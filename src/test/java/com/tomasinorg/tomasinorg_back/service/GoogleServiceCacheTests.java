@@ -0,0 +1,150 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.tomasinorg.tomasinorg_back.dto.CalendarEventsPage;
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.support.GoogleApiStub;
+
+/**
+ * The per-user calendar cache in {@link GoogleService}: fresh hits, background
+ * revalidation of stale copies with {@code If-None-Match}, and expiry.
+ */
+class GoogleServiceCacheTests {
+
+	private static final String EMAIL = "user@example.com";
+	private static final String STANDUP = "{\"items\":[{\"id\":\"evt1\",\"summary\":\"Standup\"}]}";
+	private static final String RETRO = "{\"items\":[{\"id\":\"evt2\",\"summary\":\"Retro\"}]}";
+
+	private GoogleApiStub stub;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		stub = GoogleApiStub.start();
+		stub.setEventsBody(STANDUP);
+		stub.setEventsETag("\"v1\"");
+	}
+
+	@AfterEach
+	void tearDown() {
+		stub.close();
+	}
+
+	@Test
+	void freshHitDoesNotCallGoogle() {
+		GoogleService googleService = googleService(Duration.ofMinutes(1), Duration.ofMinutes(10));
+
+		CalendarEventsPage first = googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults());
+		stub.setEventsBody(RETRO);
+		CalendarEventsPage second = googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults());
+
+		assertThat(second).isEqualTo(first);
+		assertThat(stub.calls(GoogleApiStub.EVENTS_PATH)).isEqualTo(1);
+	}
+
+	@Test
+	void staleHitIsServedAtOnceAndRevalidatedOnce() throws Exception {
+		GoogleService googleService = googleService(Duration.ZERO, Duration.ofMinutes(10));
+		CalendarEventsPage first = googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults());
+		stub.setLatency(Duration.ofMillis(500));
+		stub.setEventsETag("\"v2\"");
+		stub.setEventsBody(RETRO);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < 20; i++) {
+			assertThat(googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults())).isEqualTo(first);
+		}
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+
+		awaitRevalidation(googleService);
+		assertThat(stub.calls(GoogleApiStub.EVENTS_PATH)).isEqualTo(2);
+		assertThat(googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults()).items())
+				.singleElement().extracting("summary").isEqualTo("Retro");
+	}
+
+	@Test
+	void notModifiedRenewsCachedCopy() throws Exception {
+		GoogleService googleService = googleService(Duration.ofMillis(300), Duration.ofMinutes(10));
+		CalendarEventsPage first = googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults());
+
+		Thread.sleep(400);
+		assertThat(googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults())).isEqualTo(first);
+		awaitRevalidation(googleService);
+		assertThat(stub.notModified()).isEqualTo(1);
+
+		// Confirmed current just now, so fresh again for another ttl
+		assertThat(googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults())).isEqualTo(first);
+		assertThat(stub.calls(GoogleApiStub.EVENTS_PATH)).isEqualTo(2);
+	}
+
+	@Test
+	void expiredCopyIsFetchedInline() throws Exception {
+		GoogleService googleService = googleService(Duration.ZERO, Duration.ofMillis(200));
+		googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults());
+		stub.setEventsETag("\"v2\"");
+		stub.setEventsBody(RETRO);
+
+		Thread.sleep(300);
+		CalendarEventsPage expired = googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults());
+
+		assertThat(expired.items()).singleElement().extracting("summary").isEqualTo("Retro");
+		assertThat(stub.calls(GoogleApiStub.EVENTS_PATH)).isEqualTo(2);
+		assertThat(stub.notModified()).isZero();
+	}
+
+	private static void awaitRevalidation(GoogleService googleService) throws InterruptedException {
+		Set<?> revalidating = (Set<?>) ReflectionTestUtils.getField(googleService, "revalidating");
+		await(() -> revalidating.isEmpty());
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition met within 5s").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	private GoogleService googleService(Duration ttl, Duration maxStale) {
+		User user = User.builder()
+				.id(1L)
+				.email(EMAIL)
+				.role(Role.USER)
+				.accessToken("google-access")
+				.tokenExpiresAt(LocalDateTime.now().plusHours(1))
+				.build();
+		UserService userService = mock(UserService.class);
+		when(userService.findByEmail(anyString())).thenReturn(Optional.of(user));
+
+		GoogleCallGuard callGuard = new GoogleCallGuard();
+		callGuard.init();
+		RestTemplate restTemplate = new RestTemplate();
+		GoogleTokenService tokenService = new GoogleTokenService(mock(UserRepository.class), restTemplate, callGuard);
+		tokenService.init();
+		GoogleService googleService = new GoogleService(userService, restTemplate, tokenService, callGuard);
+		ReflectionTestUtils.setField(googleService, "calendarEventsUrl", stub.url(GoogleApiStub.EVENTS_PATH));
+		ReflectionTestUtils.setField(googleService, "calendarCacheEnabled", true);
+		ReflectionTestUtils.setField(googleService, "calendarCacheTtl", ttl);
+		ReflectionTestUtils.setField(googleService, "calendarCacheMaxStale", maxStale);
+		ReflectionTestUtils.setField(googleService, "calendarCacheMaxSize", 100L);
+		googleService.init();
+		return googleService;
+	}
+}
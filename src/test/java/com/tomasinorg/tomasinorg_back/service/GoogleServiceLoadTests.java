@@ -0,0 +1,109 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.tomasinorg.tomasinorg_back.config.RestTemplateConfig;
+import com.tomasinorg.tomasinorg_back.dto.CalendarEventsPage;
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.support.GoogleApiStub;
+
+/**
+ * Calendar throughput with Google answering slowly: a 200-thread platform pool,
+ * Tomcat's default, against a virtual thread per request. Run with
+ * {@code ./mvnw test -Dtest=GoogleServiceLoadTests -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class GoogleServiceLoadTests {
+
+	private static final int REQUESTS = 2_000;
+	private static final Duration GOOGLE_LATENCY = Duration.ofMillis(200);
+
+	private GoogleApiStub stub;
+	private PoolingHttpClientConnectionManager connectionManager;
+	private GoogleService googleService;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		stub = GoogleApiStub.start();
+		stub.setLatency(GOOGLE_LATENCY);
+
+		User user = User.builder()
+				.email("user@example.com")
+				.role(Role.USER)
+				.accessToken("google-access")
+				.tokenExpiresAt(LocalDateTime.now().plusHours(1))
+				.build();
+		UserService userService = mock(UserService.class);
+		when(userService.findByEmail(anyString())).thenReturn(Optional.of(user));
+
+		RestTemplateConfig config = new RestTemplateConfig();
+		ReflectionTestUtils.setField(config, "maxConnections", REQUESTS);
+		ReflectionTestUtils.setField(config, "maxConnectionsPerHost", REQUESTS);
+		connectionManager = config.httpConnectionManager();
+		RestTemplate restTemplate = config.restTemplate(new RestTemplateBuilder(), config.httpClient(connectionManager),
+				config.upstreamHttpMetrics(connectionManager));
+		GoogleCallGuard callGuard = new GoogleCallGuard();
+		// Measuring thread models here, not load shedding
+		ReflectionTestUtils.setField(callGuard, "maxConcurrentCalls", REQUESTS);
+		callGuard.init();
+		GoogleTokenService tokenService = new GoogleTokenService(mock(UserRepository.class), restTemplate, callGuard);
+		ReflectionTestUtils.setField(tokenService, "tokenUrl", stub.url(GoogleApiStub.TOKEN_PATH));
+		tokenService.init();
+		googleService = new GoogleService(userService, restTemplate, tokenService, callGuard);
+		ReflectionTestUtils.setField(googleService, "calendarEventsUrl", stub.url(GoogleApiStub.EVENTS_PATH));
+	}
+
+	@AfterEach
+	void tearDown() {
+		connectionManager.close();
+		stub.close();
+	}
+
+	@Test
+	void virtualThreadsOutperformPlatformPoolWhenGoogleIsSlow() throws Exception {
+		double platform = throughput("platform threads (200)", Executors.newFixedThreadPool(200));
+		double virtual = throughput("virtual threads", Executors.newVirtualThreadPerTaskExecutor());
+
+		assertThat(virtual).isGreaterThan(platform);
+	}
+
+	private double throughput(String mode, ExecutorService executor) throws Exception {
+		long start = System.nanoTime();
+		try (executor) {
+			List<Future<CalendarEventsPage>> results = new ArrayList<>(REQUESTS);
+			for (int i = 0; i < REQUESTS; i++) {
+				results.add(executor.submit(() -> googleService.getCalendarEvents("user@example.com", CalendarQuery.defaults())));
+			}
+			for (Future<CalendarEventsPage> result : results) {
+				assertThat(result.get()).isNotNull();
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		double throughput = REQUESTS / seconds;
+		System.out.printf("%-24s %d calendar requests in %.2fs = %.0f req/s%n", mode, REQUESTS, seconds, throughput);
+		return throughput;
+	}
+}
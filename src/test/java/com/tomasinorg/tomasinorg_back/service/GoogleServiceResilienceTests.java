@@ -0,0 +1,152 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.tomasinorg.tomasinorg_back.dto.CalendarEventsPage;
+import com.tomasinorg.tomasinorg_back.exception.GoogleUnavailableException;
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.support.GoogleApiStub;
+
+/**
+ * {@link GoogleService} against a stub that fails or stalls on demand.
+ */
+class GoogleServiceResilienceTests {
+
+	private static final String EMAIL = "user@example.com";
+
+	private GoogleApiStub stub;
+	private GoogleCallGuard callGuard;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		stub = GoogleApiStub.start();
+		stub.setEventsBody("{\"items\":[{\"id\":\"evt1\",\"summary\":\"Standup\"}]}");
+
+		callGuard = new GoogleCallGuard();
+		ReflectionTestUtils.setField(callGuard, "slidingWindowSize", 10);
+		ReflectionTestUtils.setField(callGuard, "minimumCalls", 4);
+		ReflectionTestUtils.setField(callGuard, "maxConcurrentCalls", 1);
+		callGuard.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		stub.close();
+	}
+
+	@Test
+	void openBreakerFailsFastWithoutCallingGoogle() {
+		GoogleService googleService = googleService(false);
+		stub.setStatus(GoogleApiStub.EVENTS_PATH, 503);
+
+		for (int i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults()))
+					.isNotInstanceOf(GoogleUnavailableException.class);
+		}
+		assertThatThrownBy(() -> googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults()))
+				.isInstanceOf(GoogleUnavailableException.class);
+
+		assertThat(stub.calls(GoogleApiStub.EVENTS_PATH)).isEqualTo(4);
+		assertThat(breakerMetrics()).containsEntry("state", "OPEN").containsEntry("notPermittedCalls", 1L);
+	}
+
+	@Test
+	void cachedCalendarIsServedWhileGoogleIsDown() {
+		GoogleService googleService = googleService(true);
+		CalendarEventsPage before = googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults());
+
+		stub.setStatus(GoogleApiStub.EVENTS_PATH, 503);
+		for (int i = 0; i < 10; i++) {
+			assertThat(googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults())).isEqualTo(before);
+		}
+		assertThat(before.items()).singleElement().extracting("summary").isEqualTo("Standup");
+	}
+
+	@Test
+	void bulkheadRejectsCallsBeyondItsLimit() throws Exception {
+		GoogleService googleService = googleService(false);
+		stub.setLatency(Duration.ofMillis(500));
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<CalendarEventsPage>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+			for (int i = 0; i < 2; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return googleService.getCalendarEvents(EMAIL, CalendarQuery.defaults());
+				}));
+			}
+			start.countDown();
+		}
+
+		int rejected = 0;
+		for (Future<CalendarEventsPage> result : results) {
+			try {
+				result.get();
+			}
+			catch (ExecutionException e) {
+				assertThat(e.getCause()).isInstanceOf(GoogleUnavailableException.class);
+				rejected++;
+			}
+		}
+		assertThat(rejected).isEqualTo(1);
+		assertThat(stub.calls(GoogleApiStub.EVENTS_PATH)).isEqualTo(1);
+		assertThat(breakerMetrics()).containsEntry("bulkheadRejected", 1L);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> breakerMetrics() {
+		return (Map<String, Object>) callGuard.snapshot().get(GoogleCallGuard.CALENDAR);
+	}
+
+	private GoogleService googleService(boolean cached) {
+		User user = User.builder()
+				.id(1L)
+				.email(EMAIL)
+				.role(Role.USER)
+				.accessToken("google-access")
+				.tokenExpiresAt(LocalDateTime.now().plusHours(1))
+				.build();
+		UserService userService = mock(UserService.class);
+		when(userService.findByEmail(anyString())).thenReturn(Optional.of(user));
+
+		RestTemplate restTemplate = new RestTemplate();
+		GoogleTokenService tokenService = new GoogleTokenService(mock(UserRepository.class), restTemplate, callGuard);
+		tokenService.init();
+		GoogleService googleService = new GoogleService(userService, restTemplate, tokenService, callGuard);
+		ReflectionTestUtils.setField(googleService, "calendarEventsUrl", stub.url(GoogleApiStub.EVENTS_PATH));
+		if (cached) {
+			ReflectionTestUtils.setField(googleService, "calendarCacheEnabled", true);
+			// Every read past the first revalidates against Google
+			ReflectionTestUtils.setField(googleService, "calendarCacheTtl", Duration.ZERO);
+			ReflectionTestUtils.setField(googleService, "calendarCacheMaxStale", Duration.ofMinutes(10));
+			ReflectionTestUtils.setField(googleService, "calendarCacheMaxSize", 100L);
+			googleService.init();
+		}
+		return googleService;
+	}
+}
@@ -0,0 +1,139 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.support.GoogleApiStub;
+
+class GoogleTokenServiceTests {
+
+	private static final int CALLERS = 16;
+
+	private GoogleApiStub stub;
+	private UserRepository userRepository;
+	private GoogleTokenService tokenService;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		stub = GoogleApiStub.start();
+		// Long enough that every caller arrives while the first refresh is still running
+		stub.setLatency(Duration.ofMillis(300));
+
+		userRepository = mock(UserRepository.class);
+		GoogleCallGuard callGuard = new GoogleCallGuard();
+		callGuard.init();
+		tokenService = new GoogleTokenService(userRepository, new RestTemplate(), callGuard);
+		ReflectionTestUtils.setField(tokenService, "tokenUrl", stub.url(GoogleApiStub.TOKEN_PATH));
+		ReflectionTestUtils.setField(tokenService, "clientId", "client-id");
+		ReflectionTestUtils.setField(tokenService, "clientSecret", "client-secret");
+		tokenService.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		stub.close();
+	}
+
+	@Test
+	void concurrentCallersShareOneRefresh() throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+		List<Future<String>> tokens = new ArrayList<>();
+		try (executor) {
+			for (int i = 0; i < CALLERS; i++) {
+				// Each caller holds its own stale snapshot, as separate requests would
+				User user = user(LocalDateTime.now().minusMinutes(1));
+				tokens.add(executor.submit(() -> {
+					start.await();
+					return tokenService.getAccessToken(user);
+				}));
+			}
+			start.countDown();
+		}
+
+		assertThat(stub.calls(GoogleApiStub.TOKEN_PATH)).isEqualTo(1);
+		for (Future<String> token : tokens) {
+			assertThat(token.get()).isEqualTo("stub-token-1");
+		}
+		verify(userRepository, times(1)).updateGoogleAccessToken(eq(1L), eq("stub-token-1"), any());
+	}
+
+	@Test
+	void errorInLeaderReleasesWaitingCallers() throws Exception {
+		Error failure = new Error("storage failed");
+		doThrow(failure).when(userRepository).updateGoogleAccessToken(any(), anyString(), any());
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> tokens = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+			for (int i = 0; i < CALLERS; i++) {
+				User user = user(LocalDateTime.now().minusMinutes(1));
+				tokens.add(executor.submit(() -> {
+					start.await();
+					return tokenService.getAccessToken(user);
+				}));
+			}
+			start.countDown();
+
+			for (Future<String> token : tokens) {
+				Throwable thrown = catchThrowable(() -> token.get(5, TimeUnit.SECONDS)).getCause();
+				// The leader rethrows its own error; callers that joined it get a new exception
+				if (thrown != failure) {
+					assertThat(thrown).isExactlyInstanceOf(RuntimeException.class).hasCause(failure);
+				}
+			}
+		}
+	}
+
+	@Test
+	void refreshesWithinMarginBeforeExpiry() {
+		ReflectionTestUtils.setField(tokenService, "refreshMargin", Duration.ofMinutes(5));
+
+		assertThat(tokenService.getAccessToken(user(LocalDateTime.now().plusMinutes(2)))).isEqualTo("stub-token-1");
+		assertThat(stub.calls(GoogleApiStub.TOKEN_PATH)).isEqualTo(1);
+	}
+
+	@Test
+	void tokenOutsideMarginIsUsedAsIs() {
+		assertThat(tokenService.getAccessToken(user(LocalDateTime.now().plusMinutes(30)))).isEqualTo("google-access");
+		assertThat(stub.calls(GoogleApiStub.TOKEN_PATH)).isZero();
+		verify(userRepository, times(0)).updateGoogleAccessToken(any(), anyString(), any());
+	}
+
+	private static User user(LocalDateTime tokenExpiresAt) {
+		return User.builder()
+				.id(1L)
+				.email("user@example.com")
+				.role(Role.USER)
+				.accessToken("google-access")
+				.googleRefreshToken("google-refresh")
+				.tokenExpiresAt(tokenExpiresAt)
+				.build();
+	}
+}
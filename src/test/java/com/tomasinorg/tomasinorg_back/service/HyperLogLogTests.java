@@ -0,0 +1,48 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTests {
+
+	private static final int PRECISION = 12;
+
+	@Test
+	void estimatesDistinctCountWithinExpectedError() {
+		for (int distinct : new int[] { 100, 10_000, 200_000 }) {
+			HyperLogLog sketch = new HyperLogLog(PRECISION);
+			for (int i = 0; i < distinct; i++) {
+				sketch.add("user" + i + "@example.com");
+				// Repeat visits must not count twice
+				sketch.add("user" + i + "@example.com");
+			}
+			assertThat((double) estimate(sketch)).isCloseTo(distinct, within(distinct * 0.05));
+		}
+	}
+
+	@Test
+	void mergedSketchesCountTheUnion() {
+		HyperLogLog monday = new HyperLogLog(PRECISION);
+		HyperLogLog tuesday = new HyperLogLog(PRECISION);
+		for (int i = 0; i < 6_000; i++) {
+			monday.add("user" + i);
+		}
+		for (int i = 3_000; i < 9_000; i++) {
+			tuesday.add("user" + i);
+		}
+
+		int[] union = new int[1 << PRECISION];
+		monday.mergeInto(union);
+		tuesday.mergeInto(union);
+
+		assertThat((double) HyperLogLog.estimate(union)).isCloseTo(9_000, within(9_000 * 0.05));
+	}
+
+	private static long estimate(HyperLogLog sketch) {
+		int[] registers = new int[1 << PRECISION];
+		sketch.mergeInto(registers);
+		return HyperLogLog.estimate(registers);
+	}
+}
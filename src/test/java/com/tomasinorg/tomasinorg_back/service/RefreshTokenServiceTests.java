@@ -0,0 +1,129 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.model.RefreshToken;
+import com.tomasinorg.tomasinorg_back.model.Role;
+import com.tomasinorg.tomasinorg_back.model.User;
+import com.tomasinorg.tomasinorg_back.repository.RefreshTokenRepository;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+import com.tomasinorg.tomasinorg_back.security.TokenDigests;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+// Each call must run and commit in its own transaction, as it does in production
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RefreshTokenServiceTests {
+
+	private static final String EMAIL = "user@example.com";
+
+	private static final int BATCH_SIZE = 2;
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private RefreshTokenRepository repository;
+
+	private RefreshTokenService service;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+		when(tokenProvider.getJwtRefreshExpirationMs()).thenReturn(86_400_000L);
+		// Delegates to the real repository so the purge's batches can be counted
+		repository = mock(RefreshTokenRepository.class, AdditionalAnswers.delegatesTo(refreshTokenRepository));
+		service = new RefreshTokenService(repository, tokenProvider);
+		ReflectionTestUtils.setField(service, "purgeBatchSize", BATCH_SIZE);
+
+		user = userRepository.save(User.builder()
+				.email(EMAIL)
+				.name("Test User")
+				.googleId("google-user")
+				.role(Role.USER)
+				.build());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		refreshTokenRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void loginsFromTwoDevicesBothStayValid() {
+		service.issue(user, "phone-1", "Phone");
+		service.issue(user, "laptop-1", "Laptop");
+
+		assertThat(service.rotate(EMAIL, "phone-1", "phone-2")).isPresent();
+		assertThat(service.rotate(EMAIL, "laptop-1", "laptop-2")).isPresent();
+		assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getTokenHash)
+				.containsExactlyInAnyOrder(TokenDigests.sha256("phone-2"), TokenDigests.sha256("laptop-2"));
+	}
+
+	@Test
+	void logoutDeletesOnlyThePresentedSession() {
+		service.issue(user, "phone-1", "Phone");
+		service.issue(user, "laptop-1", "Laptop");
+
+		service.revoke("phone-1");
+
+		assertThat(service.rotate(EMAIL, "phone-1", "phone-2")).isEmpty();
+		assertThat(service.rotate(EMAIL, "laptop-1", "laptop-2")).isPresent();
+		assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getDevice).containsExactly("Laptop");
+	}
+
+	@Test
+	void purgeRemovesOnlyExpiredSessionsInBatches() {
+		for (int i = 0; i < 5; i++) {
+			refreshTokenRepository.save(RefreshToken.builder()
+					.tokenHash("expired-" + i)
+					.user(user)
+					.device("old")
+					.expiresAt(LocalDateTime.now().minusMinutes(1))
+					.build());
+		}
+		service.issue(user, "phone-1", "Phone");
+		service.issue(user, "laptop-1", "Laptop");
+
+		service.purgeExpired();
+
+		assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getDevice)
+				.containsExactlyInAnyOrder("Phone", "Laptop");
+		// 2 + 2 + 1: the short batch ends the loop
+		verify(repository, times(3)).deleteExpiredBatch(any(), eq(BATCH_SIZE));
+	}
+}
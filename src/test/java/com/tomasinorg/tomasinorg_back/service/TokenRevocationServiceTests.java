@@ -0,0 +1,97 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.tomasinorg.tomasinorg_back.repository.RevokedTokenRepository;
+import com.tomasinorg.tomasinorg_back.security.RevocationList;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+// Revocations must commit for NOTIFY to be delivered
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenRevocationServiceTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private RevokedTokenRepository revokedTokenRepository;
+
+	@Autowired
+	private JdbcConnectionDetails connectionDetails;
+
+	private TokenRevocationService nodeA;
+	private TokenRevocationService nodeB;
+
+	@AfterEach
+	void stopNodes() {
+		for (TokenRevocationService node : new TokenRevocationService[] { nodeA, nodeB }) {
+			if (node != null) {
+				node.stop();
+			}
+		}
+		revokedTokenRepository.deleteAll();
+	}
+
+	@Test
+	void revocationReachesOtherNodes() throws Exception {
+		nodeA = startNode();
+		nodeB = startNode();
+		// Give both listeners time to LISTEN
+		Thread.sleep(1_000);
+
+		nodeA.revoke("jti-1", Instant.now().plus(1, ChronoUnit.HOURS));
+
+		assertThat(nodeA.isRevoked("jti-1")).isTrue();
+		assertThat(awaitRevoked(nodeB, "jti-1")).isTrue();
+		assertThat(nodeB.isRevoked("jti-2")).isFalse();
+	}
+
+	@Test
+	void startingNodeLoadsExistingRevocations() throws Exception {
+		nodeA = startNode();
+		nodeA.revoke("jti-1", Instant.now().plus(1, ChronoUnit.HOURS));
+		nodeA.revoke("jti-expired", Instant.now().minus(1, ChronoUnit.MINUTES));
+
+		nodeB = startNode();
+
+		assertThat(awaitRevoked(nodeB, "jti-1")).isTrue();
+		assertThat(nodeB.isRevoked("jti-expired")).isFalse();
+	}
+
+	private TokenRevocationService startNode() {
+		TokenRevocationService node = new TokenRevocationService(revokedTokenRepository,
+				new RevocationList(1_000, 0.01), connectionDetails);
+		node.start();
+		return node;
+	}
+
+	private static boolean awaitRevoked(TokenRevocationService node, String tokenId) throws InterruptedException {
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (System.nanoTime() < deadline) {
+			if (node.isRevoked(tokenId)) {
+				return true;
+			}
+			Thread.sleep(50);
+		}
+		return false;
+	}
+}
@@ -0,0 +1,88 @@
+package com.tomasinorg.tomasinorg_back.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tomasinorg.tomasinorg_back.dto.UserDto;
+import com.tomasinorg.tomasinorg_back.repository.UserRepository;
+import com.tomasinorg.tomasinorg_back.security.JwtPrincipal;
+import com.tomasinorg.tomasinorg_back.security.JwtTokenProvider;
+
+class UserServiceTests {
+
+	private static final UserDto PROFILE = new UserDto("user@example.com", "Test User",
+			"https://lh3.googleusercontent.com/a/ACg8ocJ-picture=s96-c", "USER", 1);
+
+	private JwtTokenProvider tokenProvider;
+	private UserRepository userRepository;
+	private UserService userService;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "test-secret-test-secret-test-secret-test-secret");
+		ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 60_000L);
+		ReflectionTestUtils.setField(tokenProvider, "jwtRefreshExpirationMs", 120_000L);
+		tokenProvider.init();
+
+		userRepository = mock(UserRepository.class);
+		userService = new UserService(userRepository, new InMemoryUserProfileCache(Duration.ofMinutes(5), 100));
+	}
+
+	@Test
+	void profileIsServedFromTokenClaimsWithoutDatabase() {
+		JwtPrincipal principal = principal(tokenProvider.generateToken(PROFILE));
+
+		assertThat(principal.hasProfile()).isTrue();
+		assertThat(userService.getProfile(principal)).get()
+				.satisfies(entry -> assertThat(entry.profile()).usingRecursiveComparison().isEqualTo(PROFILE))
+				.satisfies(entry -> assertThat(entry.etag()).isEqualTo(userService.cacheProfile(PROFILE).etag()));
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	void tokenIssuedBeforeProfileChangeGetsCurrentProfile() {
+		JwtPrincipal principal = principal(tokenProvider.generateToken(PROFILE));
+		userService.cacheProfile(renamed());
+
+		assertThat(userService.getProfile(principal)).get()
+				.extracting(entry -> entry.profile().getName()).isEqualTo("Renamed User");
+	}
+
+	@Test
+	void tokenIssuedAfterProfileChangeReplacesOlderCachedProfile() {
+		userService.cacheProfile(PROFILE);
+		JwtPrincipal principal = principal(tokenProvider.generateToken(renamed()));
+
+		assertThat(userService.getProfile(principal)).get()
+				.extracting(entry -> entry.profile().getName()).isEqualTo("Renamed User");
+		assertThat(userService.getProfile(PROFILE.getEmail())).get()
+				.extracting(entry -> entry.profile().getProfileVersion()).isEqualTo(2L);
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	void pictureClaimIsCompressed() {
+		String compact = tokenProvider.generateToken(PROFILE);
+		ReflectionTestUtils.setField(tokenProvider, "compressPicture", false);
+		String verbose = tokenProvider.generateToken(PROFILE);
+
+		assertThat(compact.length()).isLessThan(verbose.length());
+		assertThat(principal(compact).picture()).isEqualTo(PROFILE.getPicture());
+	}
+
+	private static UserDto renamed() {
+		return new UserDto(PROFILE.getEmail(), "Renamed User", PROFILE.getPicture(), PROFILE.getRole(), 2);
+	}
+
+	private JwtPrincipal principal(String token) {
+		return tokenProvider.verify(token).principal();
+	}
+}
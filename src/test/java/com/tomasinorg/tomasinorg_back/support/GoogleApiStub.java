@@ -0,0 +1,186 @@
+package com.tomasinorg.tomasinorg_back.support;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the Google endpoints the app calls, with configurable
+ * latency, injectable error statuses, per-path call counts and, once an ETag
+ * is set, conditional event responses. Runs on the
+ * JDK's built-in HTTP server with a virtual thread per exchange, so it is
+ * never the bottleneck in a load test.
+ *
+ * <p>Covers the OAuth2 login too: the authorization code is taken as the name
+ * of the user signing in, so exchanging code {@code alice} and reading the
+ * user info with the resulting token yields {@link #email(String) alice's}
+ * profile. The authorization endpoint itself is never called; clients go
+ * straight to the redirect with a code of their choosing.
+ */
+public final class GoogleApiStub implements AutoCloseable {
+
+	public static final String EVENTS_PATH = "/calendar/v3/calendars/primary/events";
+	public static final String TOKEN_PATH = "/token";
+	public static final String USERINFO_PATH = "/oauth2/v3/userinfo";
+	public static final String AUTHORIZE_PATH = "/o/oauth2/v2/auth";
+
+	private static final String CODE_TOKEN_PREFIX = "stub-access-";
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+	private final AtomicInteger issuedTokens = new AtomicInteger();
+	private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+	private final AtomicInteger notModified = new AtomicInteger();
+
+	private volatile Duration latency = Duration.ZERO;
+	private volatile String eventsBody = "{\"kind\":\"calendar#events\",\"items\":[]}";
+	private volatile String eventsETag;
+
+	private GoogleApiStub() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+		server.setExecutor(executor);
+		server.createContext(EVENTS_PATH, exchange -> respond(exchange, request -> eventsBody));
+		server.createContext(TOKEN_PATH, exchange -> respond(exchange, this::tokenResponse));
+		server.createContext(USERINFO_PATH, exchange -> respond(exchange,
+				request -> userInfo(exchange.getRequestHeaders().getFirst("Authorization"))));
+	}
+
+	public static GoogleApiStub start() throws IOException {
+		GoogleApiStub stub = new GoogleApiStub();
+		stub.server.start();
+		return stub;
+	}
+
+	public String url(String path) {
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+	}
+
+	/**
+	 * The email of the user signed in with authorization code {@code user}.
+	 */
+	public static String email(String user) {
+		return user + "@example.com";
+	}
+
+	public void setLatency(Duration latency) {
+		this.latency = latency;
+	}
+
+	public void setEventsBody(String eventsBody) {
+		this.eventsBody = eventsBody;
+	}
+
+	/**
+	 * Sends {@code etag} with event responses and answers a request whose
+	 * {@code If-None-Match} carries it with 304 Not Modified; null turns this off.
+	 */
+	public void setEventsETag(String etag) {
+		this.eventsETag = etag;
+	}
+
+	/**
+	 * How many event requests were answered with 304 Not Modified.
+	 */
+	public int notModified() {
+		return notModified.get();
+	}
+
+	/**
+	 * Makes {@code path} answer with {@code status} and an error body; 200
+	 * restores normal responses.
+	 */
+	public void setStatus(String path, int status) {
+		if (status == 200) {
+			statuses.remove(path);
+		}
+		else {
+			statuses.put(path, status);
+		}
+	}
+
+	public int calls(String path) {
+		AtomicInteger count = calls.get(path);
+		return count != null ? count.get() : 0;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private String tokenResponse(String form) {
+		String code = formParameter(form, "code");
+		if (code == null) {
+			return "{\"access_token\":\"stub-token-" + issuedTokens.incrementAndGet()
+					+ "\",\"expires_in\":3600,\"token_type\":\"Bearer\"}";
+		}
+		return "{\"access_token\":\"" + CODE_TOKEN_PREFIX + code + "\",\"refresh_token\":\"stub-refresh-" + code
+				+ "\",\"expires_in\":3600,\"token_type\":\"Bearer\",\"scope\":\"profile email\"}";
+	}
+
+	private static String userInfo(String authorization) {
+		String prefix = "Bearer " + CODE_TOKEN_PREFIX;
+		String user = authorization != null && authorization.startsWith(prefix)
+				? authorization.substring(prefix.length())
+				: "user";
+		return "{\"sub\":\"google-" + user + "\",\"email\":\"" + email(user) + "\",\"email_verified\":true,"
+				+ "\"name\":\"User " + user + "\",\"picture\":\"https://lh3.googleusercontent.com/a/" + user + "=s96-c\"}";
+	}
+
+	private static String formParameter(String form, String name) {
+		for (String pair : form.split("&")) {
+			int eq = pair.indexOf('=');
+			if (eq > 0 && pair.substring(0, eq).equals(name)) {
+				return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+			}
+		}
+		return null;
+	}
+
+	private void respond(HttpExchange exchange, UnaryOperator<String> bodyForRequest) throws IOException {
+		calls.computeIfAbsent(exchange.getHttpContext().getPath(), path -> new AtomicInteger()).incrementAndGet();
+		try (exchange) {
+			String body = bodyForRequest.apply(
+					new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			Duration delay = latency;
+			if (!delay.isZero()) {
+				Thread.sleep(delay);
+			}
+			int status = statuses.getOrDefault(exchange.getHttpContext().getPath(), 200);
+			String etag = eventsETag;
+			if (status == 200 && etag != null && exchange.getHttpContext().getPath().equals(EVENTS_PATH)) {
+				exchange.getResponseHeaders().set("ETag", etag);
+				if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					notModified.incrementAndGet();
+					exchange.sendResponseHeaders(304, -1);
+					return;
+				}
+			}
+			byte[] bytes = (status == 200 ? body : "{\"error\":{\"code\":" + status + "}}")
+					.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(status, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}